@@ -0,0 +1,73 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.BlogBackendApplication;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.models.Role;
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.repositories.UserRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the real application against a private in-memory H2 database so benchmarks
+ * measure the same beans, queries and mappings that run in production.
+ */
+final class BenchmarkApplication {
+
+    static final String SECRET_KEY = "Pdy1yzZW1lja+T+zI3IeHkiWaH0sqYoUlIl9VKy8sio=";
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraArguments) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret-key=" + SECRET_KEY,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        arguments.addAll(List.of(extraArguments));
+
+        return SpringApplication.run(BlogBackendApplication.class, arguments.toArray(String[]::new));
+    }
+
+    static User createUser(ConfigurableApplicationContext context, String username) {
+        User user = new User(username, "not-a-real-hash");
+        user.setRole(Role.ROLE_USER);
+
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    static List<Post> seedPosts(ConfigurableApplicationContext context, int numberOfPosts) {
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        User author = createUser(context, "benchmark-author");
+        Random random = new Random(42);
+        List<Post> saved = new ArrayList<>(numberOfPosts);
+        List<Post> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for(int i = 0; i < numberOfPosts; i++) {
+            Post post = new Post("Benchmark post " + i, "Benchmark content " + i, author);
+            post.setRating(random.nextInt(2001) - 1000);
+            batch.add(post);
+
+            if(batch.size() == SEED_BATCH_SIZE || i == numberOfPosts - 1) {
+                saved.addAll(postRepository.saveAll(batch));
+                batch.clear();
+            }
+        }
+
+        return saved;
+    }
+}
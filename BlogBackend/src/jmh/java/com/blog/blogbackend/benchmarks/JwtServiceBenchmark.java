@@ -0,0 +1,52 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.models.Role;
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.services.JwtService;
+import com.blog.blogbackend.services.JwtServiceImpl;
+import com.blog.blogbackend.utils.TimeProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of("jwt.secret-key", BenchmarkApplication.SECRET_KEY)));
+        jwtService = new JwtServiceImpl(environment, new TimeProvider());
+
+        user = new User("benchmark", "password");
+        user.setId(1L);
+        user.setRole(Role.ROLE_USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,44 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.services.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFeedBenchmark {
+
+    @Param({"100", "10000"})
+    public int numberOfPosts;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("feed" + numberOfPosts);
+        BenchmarkApplication.seedPosts(context, numberOfPosts);
+        postService = context.getBean(PostService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostOverviewDTO> allPostsOrderedByRating() {
+        return postService.convertPostsToOverviews(postService.getAllPostsOrderedByRating());
+    }
+
+    @Benchmark
+    public PostFeedPageDTO firstFeedPage() {
+        return postService.getFeedPage(null, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.models.Role;
+import com.blog.blogbackend.models.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostOverviewSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int numberOfPosts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<PostOverviewDTO> overviews;
+
+    @Setup(Level.Trial)
+    public void createOverviews() {
+        User author = new User("benchmark-author", "password");
+        author.setId(1L);
+        author.setRole(Role.ROLE_USER);
+        overviews = new ArrayList<>(numberOfPosts);
+
+        for(int i = 0; i < numberOfPosts; i++) {
+            Post post = new Post("Benchmark post " + i, "Benchmark content " + i, author);
+            post.setId((long) i);
+            post.setRating(i % 100);
+            overviews.add(new PostOverviewDTO(post));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOverviews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(overviews);
+    }
+}
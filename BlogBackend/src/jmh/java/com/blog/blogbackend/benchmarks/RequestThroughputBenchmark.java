@@ -0,0 +1,85 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.services.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the feed endpoint over HTTP, comparing Tomcat's platform thread pool
+ * with virtual-thread request execution. The client runs more concurrent callers than Tomcat has
+ * worker threads, so blocking JPA calls are what separates the two modes. The Tomcat pool cap only
+ * applies to platform threads; with virtual threads the ConcurrencyLimitFilter bounds the load, and
+ * its acquire timeout is raised so excess callers queue as they would for Tomcat's pool. Only 200
+ * responses count: a 503 fails the run instead of inflating throughput.
+ * The jmh task forks a Java 21 JVM, which virtual threads need.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(128)
+public class RequestThroughputBenchmark {
+
+    private static final int TOMCAT_THREADS = 32;
+    private static final int DATASOURCE_POOL_SIZE = 10;
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest feedRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + DATASOURCE_POOL_SIZE));
+        if(virtualThreads) {
+            arguments.add("--requests.concurrency-limit.acquire-timeout-ms=" + ACQUIRE_TIMEOUT_MS);
+        } else {
+            arguments.add("--server.tomcat.threads.max=" + TOMCAT_THREADS);
+        }
+        context = BenchmarkApplication.start("throughput" + virtualThreads, arguments.toArray(String[]::new));
+        BenchmarkApplication.seedPosts(context, 1000);
+        User reader = BenchmarkApplication.createUser(context, "benchmark-reader");
+        String token = context.getBean(JwtService.class).generateToken(reader);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        clientExecutor = Executors.newFixedThreadPool(16);
+        client = HttpClient.newBuilder().executor(clientExecutor).build();
+        feedRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/posts"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int firstFeedPage() throws Exception {
+        int status = client.send(feedRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if(status != 200) {
+            throw new IllegalStateException("Feed request answered " + status + ", not 200.");
+        }
+
+        return status;
+    }
+}
@@ -0,0 +1,58 @@
+package com.blog.blogbackend.benchmarks;
+
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.services.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VoteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"false", "true"})
+        public boolean writeBehind;
+
+        private final AtomicInteger voters = new AtomicInteger();
+        private ConfigurableApplicationContext context;
+        private PostService postService;
+        private Post post;
+
+        @Setup(Level.Trial)
+        public void startApplication() {
+            context = BenchmarkApplication.start("votes" + writeBehind,
+                    "--ratings.write-behind.enabled=" + writeBehind);
+            postService = context.getBean(PostService.class);
+            post = BenchmarkApplication.seedPosts(context, 1).get(0);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopApplication() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+
+        private User user;
+
+        @Setup(Level.Trial)
+        public void createVoter(Application application) {
+            user = BenchmarkApplication.createUser(application.context,
+                    "benchmark-voter-" + application.voters.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public int voteUpThenDown(Application application, Voter voter) {
+        application.postService.voteUp(application.post, voter.user);
+        return application.postService.voteDown(application.post, voter.user);
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.blogbackend.caches;
+
+import com.blog.blogbackend.utils.ExpiringLruCache;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory UserCache shared by the JWT filter and the login provider. Entries expire after
+ * a short TTL and are evicted explicitly when an account is soft deleted or changes role.
+ */
+@Component
+public class LruUserCache implements UserCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10000;
+    private static final long DEFAULT_TTL_SECONDS = 60;
+
+    private final ExpiringLruCache<String, UserDetails> users;
+
+    public LruUserCache(Environment environment) {
+        this.users = new ExpiringLruCache<>(
+                environment.getProperty("auth.user-cache.max-size", Integer.class, DEFAULT_MAX_SIZE),
+                Duration.ofSeconds(environment.getProperty("auth.user-cache.ttl-seconds", Long.class,
+                        DEFAULT_TTL_SECONDS)));
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.get(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public long getHitCount() {
+        return users.getHitCount();
+    }
+
+    public long getMissCount() {
+        return users.getMissCount();
+    }
+}
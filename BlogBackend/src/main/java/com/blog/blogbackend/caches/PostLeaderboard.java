@@ -0,0 +1,175 @@
+package com.blog.blogbackend.caches;
+
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.repositories.PostRepository;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Keeps the highest-rated posts in memory so the first feed page needs no query.
+ * It always holds an exact prefix of the feed: a post that drops below the lowest tracked
+ * one is let go, because an untracked post might now outrank it. The periodic reload
+ * refills the prefix and picks up changes made by other instances.
+ * <p>
+ * Every change builds a new map and publishes it in one write, so a reader walking the top
+ * never sees a post missing or listed twice while its rank is being replaced.
+ */
+@Component
+public class PostLeaderboard {
+
+    private static final int DEFAULT_CAPACITY = 200;
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final Map<Long, RankKey> keysByPostId = new HashMap<>();
+    private volatile NavigableMap<RankKey, PostOverviewDTO> ranked;
+    private boolean complete;
+
+    public PostLeaderboard(PostRepository postRepository, Environment environment) {
+        this.postRepository = postRepository;
+        this.enabled = environment.getProperty("posts.leaderboard.enabled", Boolean.class, false);
+        this.capacity = environment.getProperty("posts.leaderboard.size", Integer.class, DEFAULT_CAPACITY);
+    }
+
+    public Optional<List<PostOverviewDTO>> getTop(int count) {
+        NavigableMap<RankKey, PostOverviewDTO> snapshot = ranked;
+        if(snapshot == null) {
+            return Optional.empty();
+        }
+
+        List<PostOverviewDTO> top = new ArrayList<>(count);
+        for(PostOverviewDTO overview : snapshot.values()) {
+            if(top.size() == count) {
+                break;
+            }
+            top.add(overview);
+        }
+        if(top.size() < count && !isComplete()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(top);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.leaderboard.refresh-interval-ms:60000}")
+    public synchronized void reload() {
+        if(!enabled) {
+            return;
+        }
+
+        List<PostOverviewDTO> top = postRepository.findFeedFirstPage(PageRequest.of(0, capacity));
+        TreeMap<RankKey, PostOverviewDTO> reloaded = new TreeMap<>();
+        keysByPostId.clear();
+        top.forEach(overview -> {
+            RankKey key = new RankKey(overview.getRating(), overview.getId());
+            reloaded.put(key, overview);
+            keysByPostId.put(overview.getId(), key);
+        });
+        complete = top.size() < capacity;
+        ranked = Collections.unmodifiableNavigableMap(reloaded);
+    }
+
+    public void onPostCreated(Post post) {
+        offer(new PostOverviewDTO(post));
+    }
+
+    public void onPostRated(Post post) {
+        offer(new PostOverviewDTO(post));
+    }
+
+    public synchronized void onPostEdited(Post post) {
+        RankKey key = keysByPostId.get(post.getId());
+        if(ranked == null || key == null) {
+            return;
+        }
+
+        PostOverviewDTO current = ranked.get(key);
+        PostOverviewDTO edited = new PostOverviewDTO(post);
+        edited.setRating(current.getRating());
+        edited.setNumberOfComments(current.getNumberOfComments());
+        TreeMap<RankKey, PostOverviewDTO> next = new TreeMap<>(ranked);
+        next.put(key, edited);
+        ranked = Collections.unmodifiableNavigableMap(next);
+    }
+
+    public synchronized void onCommentCountChanged(Long postId, int delta) {
+        RankKey key = keysByPostId.get(postId);
+        if(ranked == null || key == null) {
+            return;
+        }
+
+        PostOverviewDTO current = ranked.get(key);
+        PostOverviewDTO counted = new PostOverviewDTO(current.getId(), current.getTitle(), current.getContent(),
+                current.getCreatedAt(), current.getRating(), current.getNumberOfComments() + delta,
+                current.getAuthor().getId(), current.getAuthor().getUsername());
+        TreeMap<RankKey, PostOverviewDTO> next = new TreeMap<>(ranked);
+        next.put(key, counted);
+        ranked = Collections.unmodifiableNavigableMap(next);
+    }
+
+    public synchronized void onPostDeleted(Long postId) {
+        RankKey key = keysByPostId.remove(postId);
+        if(ranked == null || key == null) {
+            return;
+        }
+
+        TreeMap<RankKey, PostOverviewDTO> next = new TreeMap<>(ranked);
+        next.remove(key);
+        ranked = Collections.unmodifiableNavigableMap(next);
+    }
+
+    public int size() {
+        NavigableMap<RankKey, PostOverviewDTO> snapshot = ranked;
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    private synchronized boolean isComplete() {
+        return complete;
+    }
+
+    private synchronized void offer(PostOverviewDTO overview) {
+        if(ranked == null) {
+            return;
+        }
+
+        TreeMap<RankKey, PostOverviewDTO> next = new TreeMap<>(ranked);
+        RankKey previousKey = keysByPostId.remove(overview.getId());
+        if(previousKey != null) {
+            next.remove(previousKey);
+        }
+
+        RankKey key = new RankKey(overview.getRating(), overview.getId());
+        if(complete || (!next.isEmpty() && key.compareTo(next.lastKey()) < 0)) {
+            next.put(key, overview);
+            keysByPostId.put(overview.getId(), key);
+            if(next.size() > capacity) {
+                RankKey lowest = next.pollLastEntry().getKey();
+                keysByPostId.remove(lowest.postId());
+                complete = false;
+            }
+        }
+
+        ranked = Collections.unmodifiableNavigableMap(next);
+    }
+
+    private record RankKey(int rating, long postId) implements Comparable<RankKey> {
+        @Override
+        public int compareTo(RankKey other) {
+            int byRating = Integer.compare(other.rating, rating);
+            return byRating != 0 ? byRating : Long.compare(other.postId, postId);
+        }
+    }
+}
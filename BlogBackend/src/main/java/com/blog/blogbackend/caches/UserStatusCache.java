@@ -0,0 +1,38 @@
+package com.blog.blogbackend.caches;
+
+import com.blog.blogbackend.repositories.UserRepository;
+import com.blog.blogbackend.utils.ExpiringLruCache;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Remembers for a short time whether a user id still belongs to an active account, so
+ * stateless authentication can honour soft deletes without a query on every request.
+ */
+@Component
+public class UserStatusCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10000;
+    private static final long DEFAULT_TTL_SECONDS = 30;
+
+    private final UserRepository userRepository;
+    private final ExpiringLruCache<Long, Boolean> activeUsers;
+
+    public UserStatusCache(UserRepository userRepository, Environment environment) {
+        this.userRepository = userRepository;
+        this.activeUsers = new ExpiringLruCache<>(
+                environment.getProperty("auth.user-status-cache.max-size", Integer.class, DEFAULT_MAX_SIZE),
+                Duration.ofSeconds(environment.getProperty("auth.user-status-cache.ttl-seconds", Long.class,
+                        DEFAULT_TTL_SECONDS)));
+    }
+
+    public boolean isActive(Long userId) {
+        return activeUsers.get(userId, id -> userRepository.existsByIdAndDeleted(id, false));
+    }
+
+    public void evict(Long userId) {
+        activeUsers.invalidate(userId);
+    }
+}
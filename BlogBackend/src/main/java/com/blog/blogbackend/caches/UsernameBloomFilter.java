@@ -0,0 +1,78 @@
+package com.blog.blogbackend.caches;
+
+import com.blog.blogbackend.repositories.UserRepository;
+import com.blog.blogbackend.utils.BloomFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Remembers every username ever registered so registration can skip the database for names
+ * that are certainly free. A hit is only a maybe and must be confirmed with a lookup. Names
+ * registered on other instances only show up after the next periodic rebuild, so a miss is a
+ * hint too: the availability endpoint may report such a name as free, and registration relies
+ * on the unique constraint as the final word. Names are lowercased because MySQL compares
+ * usernames case-insensitively.
+ */
+@Component
+public class UsernameBloomFilter {
+
+    private static final long DEFAULT_EXPECTED_USERS = 100_000;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    public UsernameBloomFilter(UserRepository userRepository, Environment environment) {
+        this.userRepository = userRepository;
+        this.expectedUsers = environment.getProperty("auth.username-filter.expected-users", Long.class,
+                DEFAULT_EXPECTED_USERS);
+        this.falsePositiveRate = environment.getProperty("auth.username-filter.false-positive-rate", Double.class,
+                DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public boolean mightContain(String username) {
+        BloomFilter snapshot = filter;
+        return snapshot == null || snapshot.mightContain(normalize(username));
+    }
+
+    public void put(String username) {
+        String key = normalize(username);
+        BloomFilter current = filter;
+        if(current != null) {
+            current.put(key);
+        }
+        BloomFilter next = rebuilding;
+        if(next != null) {
+            next.put(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.username-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${auth.username-filter.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        // Leave headroom so the false positive rate holds while the user base grows until the next rebuild.
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedUsers, userRepository.count() * 2), falsePositiveRate);
+        rebuilding = rebuilt;
+        try(Stream<String> usernames = userRepository.streamAllUsernames()) {
+            usernames.forEach(username -> rebuilt.put(normalize(username)));
+        }
+        filter = rebuilt;
+        rebuilding = null;
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
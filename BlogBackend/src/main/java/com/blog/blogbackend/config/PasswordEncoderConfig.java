@@ -1,14 +1,69 @@
 package com.blog.blogbackend.config;
 
+import com.blog.blogbackend.utils.BCryptStrengthCalibrator;
+import com.blog.blogbackend.utils.BoundedPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class PasswordEncoderConfig {
-    @Bean
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final long DEFAULT_TIMEOUT_MS = 2000;
+    private static final long DEFAULT_TARGET_MS = 250;
+    private static final int DEFAULT_MIN_STRENGTH = 10;
+    private static final int DEFAULT_MAX_STRENGTH = 16;
+
+    private final Environment environment;
+
+    public PasswordEncoderConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int defaultThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(resolveBCryptStrength()),
+                environment.getProperty("auth.password-hashing.threads", Integer.class, defaultThreads),
+                environment.getProperty("auth.password-hashing.queue-capacity", Integer.class, DEFAULT_QUEUE_CAPACITY),
+                environment.getProperty("auth.password-hashing.timeout-ms", Long.class, DEFAULT_TIMEOUT_MS));
+    }
+
+    // Hashes stored before the {bcrypt} prefix existed still verify, and report upgradeEncoding() so they are
+    // rewritten on the next successful login, as are hashes made with a lower strength than today's.
+    private PasswordEncoder delegatingPasswordEncoder(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return delegating;
+    }
+
+    private int resolveBCryptStrength() {
+        Integer fixedStrength = environment.getProperty("auth.password-hashing.bcrypt-strength", Integer.class);
+        if(fixedStrength != null) {
+            return fixedStrength;
+        }
+
+        int calibratedStrength = BCryptStrengthCalibrator.calibrate(
+                environment.getProperty("auth.password-hashing.target-ms", Long.class, DEFAULT_TARGET_MS),
+                environment.getProperty("auth.password-hashing.min-strength", Integer.class, DEFAULT_MIN_STRENGTH),
+                environment.getProperty("auth.password-hashing.max-strength", Integer.class, DEFAULT_MAX_STRENGTH));
+        logger.info("Calibrated BCrypt strength {} on this instance; set BCRYPT_STRENGTH to pin one strength " +
+                "across the fleet.", calibratedStrength);
+
+        return calibratedStrength;
     }
 }
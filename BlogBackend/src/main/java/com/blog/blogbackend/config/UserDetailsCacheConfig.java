@@ -0,0 +1,21 @@
+package com.blog.blogbackend.config;
+
+import com.blog.blogbackend.services.UserService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@Configuration
+public class UserDetailsCacheConfig {
+
+    @Bean
+    @Primary
+    public UserDetailsService cachingUserDetailsService(UserService userService, UserCache userCache) {
+        CachingUserDetailsService cachingUserDetailsService = new CachingUserDetailsService(userService);
+        cachingUserDetailsService.setUserCache(userCache);
+        return cachingUserDetailsService;
+    }
+}
@@ -37,6 +37,7 @@ public class WebSecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(new AntPathRequestMatcher("/user/register")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/user/register/availability")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/user/login")).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -1,36 +1,51 @@
 package com.blog.blogbackend.controllers;
 
+import com.blog.blogbackend.exceptions.EditConflictException;
 import com.blog.blogbackend.models.Comment;
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
 import com.blog.blogbackend.models.DTOs.CommentUpdateDTO;
 import com.blog.blogbackend.models.DTOs.NewCommentDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.services.CommentService;
 import com.blog.blogbackend.services.PostService;
+import com.blog.blogbackend.utils.ContentETags;
 import com.blog.blogbackend.utils.DTOValidationResultHandler;
+import com.blog.blogbackend.utils.StreamingJsonArray;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/comments")
 public class CommentController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final CommentService commentService;
     private final PostService postService;
+    private final ObjectMapper objectMapper;
 
     private final String defaultErrorMessage = "Post ID and comment content are required.";
 
-    public CommentController(CommentService commentService, PostService postService) {
+    public CommentController(CommentService commentService, PostService postService, ObjectMapper objectMapper) {
         this.commentService = commentService;
         this.postService = postService;
+        this.objectMapper = objectMapper;
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -49,6 +64,14 @@ public class CommentController {
         return ResponseEntity.status(401).body(result);
     }
 
+    @ExceptionHandler(EditConflictException.class)
+    public ResponseEntity<Map> editConflict(EditConflictException e) {
+        Map<String, String> result = new HashMap<>();
+        result.put("error", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map> otherErrors(Exception e) {
         Map<String, String> result = new HashMap<>();
@@ -58,40 +81,72 @@ public class CommentController {
     }
 
     @GetMapping
-    public ResponseEntity<Map> getAllCommentsForPost(@RequestParam Long postId) {
-        Map<String, List<Comment>> result = new HashMap<>();
+    public ResponseEntity<Map> getAllCommentsForPost(@RequestParam Long postId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     WebRequest request) {
         Post post = postService.getPostById(postId);
-        List<Comment> comments = commentService.getCommentsForPost(post);
-        result.put("comments", comments);
+        CommentPageDTO page = commentService.getCommentPageForPost(post.getId(), cursor, size);
+        String eTag = ContentETags.forCommentPage(post.getId(), page);
+        if(request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
 
-        return ResponseEntity.ok(result);
+        Map<String, Object> result = new HashMap<>();
+        result.put("comments", page.getComments());
+        result.put("nextCursor", page.getNextCursor());
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(result);
     }
 
-    @GetMapping("/{commentId}")
-    public ResponseEntity<Comment> getComment(@PathVariable Long commentId) {
-        Comment comment = commentService.getCommentById(commentId);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllCommentsForPost(@RequestParam Long postId) {
+        Post post = postService.getPostById(postId);
+        Long id = post.getId();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingJsonArray.of(objectMapper,
+                        consumer -> commentService.exportCommentsForPost(id, consumer)));
+    }
 
-        return ResponseEntity.ok(comment);
+    @GetMapping("/{commentId}")
+    public ResponseEntity<CommentDTO> getComment(@PathVariable Long commentId, WebRequest request) {
+        CommentDTO comment = new CommentDTO(commentService.getCommentById(commentId));
+        String eTag = ContentETags.forComment(comment);
+        if(request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(comment);
     }
 
     @PostMapping
-    public ResponseEntity<Comment> addComment(@RequestBody @Valid NewCommentDTO commentData,
-                                              @AuthenticationPrincipal User user) {
+    public ResponseEntity<CommentDTO> addComment(@RequestBody @Valid NewCommentDTO commentData,
+                                                 @AuthenticationPrincipal User user) {
         Post post = postService.getPostById(commentData.getPostId());
         Comment comment = commentService.create(commentData.getContent(), user, post);
 
-        return ResponseEntity.ok(comment);
+        return ResponseEntity.ok(new CommentDTO(comment));
     }
 
     @PatchMapping("/{commentId}")
-    public ResponseEntity<Comment> updateComment(@PathVariable Long commentId,
-                                                 @RequestBody @Valid CommentUpdateDTO updateData,
-                                                 @AuthenticationPrincipal User user) {
+    public ResponseEntity<CommentDTO> updateComment(@PathVariable Long commentId,
+                                                    @RequestBody @Valid CommentUpdateDTO updateData,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch,
+                                                    @AuthenticationPrincipal User user) {
         Comment originalComment = commentService.getCommentById(commentId);
         commentService.verifyAuthor(originalComment, user);
-        Comment updatedComment = commentService.update(originalComment, updateData.getContent());
+        if(ifMatch != null && !ContentETags.matchesCommentVersion(ifMatch, originalComment.getId(),
+                originalComment.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        CommentDTO updatedComment = new CommentDTO(commentService.update(originalComment, updateData.getContent(),
+                updateData.getVersion()));
 
-        return ResponseEntity.ok(updatedComment);
+        return ResponseEntity.ok().eTag(ContentETags.forComment(updatedComment)).body(updatedComment);
     }
 
     @DeleteMapping("/{commentId}")
@@ -1,5 +1,6 @@
 package com.blog.blogbackend.controllers;
 
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
 import com.blog.blogbackend.models.DTOs.AuthResponseDTO;
 import com.blog.blogbackend.models.DTOs.LoginUserDTO;
 import com.blog.blogbackend.services.AuthService;
@@ -7,6 +8,8 @@ import com.blog.blogbackend.services.UserService;
 import com.blog.blogbackend.utils.DTOValidationResultHandler;
 import com.blog.blogbackend.utils.FieldErrorsExtractor;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -55,6 +58,15 @@ public class LoginController {
         return ResponseEntity.status(401).body(result);
     }
 
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<Map> passwordHashingSaturated(PasswordHashingSaturatedException e) {
+
+        Map<String, String> result = new HashMap<>();
+        result.put("error", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map> otherErrors(Exception e) {
 
@@ -1,31 +1,45 @@
 package com.blog.blogbackend.controllers;
 
+import com.blog.blogbackend.exceptions.EditConflictException;
 import com.blog.blogbackend.models.DTOs.NewPostDTO;
-import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.services.PostService;
+import com.blog.blogbackend.utils.ContentETags;
 import com.blog.blogbackend.utils.DTOValidationResultHandler;
+import com.blog.blogbackend.utils.StreamingJsonArray;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/posts")
 public class PostController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final PostService postService;
+    private final ObjectMapper objectMapper;
     private final String defaultErrorMessage = "Title and content are required.";
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, ObjectMapper objectMapper) {
         this.postService = postService;
+        this.objectMapper = objectMapper;
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -44,6 +58,14 @@ public class PostController {
         return ResponseEntity.status(401).body(result);
     }
 
+    @ExceptionHandler(EditConflictException.class)
+    public ResponseEntity<Map> editConflict(EditConflictException e) {
+        Map<String, String> result = new HashMap<>();
+        result.put("error", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map> otherErrors(Exception e) {
         Map<String, String> result = new HashMap<>();
@@ -53,39 +75,82 @@ public class PostController {
     }
 
     @GetMapping
-    public ResponseEntity<Map> getAllPosts() {
-        Map<String, List<PostOverviewDTO>> result = new HashMap<>();
-        List<PostOverviewDTO> posts = postService.convertPostsToOverviews(postService.getAllPostsOrderedByRating());
-        result.put("posts", posts);
+    public ResponseEntity<Map> getAllPosts(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size,
+                                           WebRequest request) {
+        PostFeedPageDTO page = postService.getFeedPage(cursor, size);
+        String eTag = ContentETags.forFeedPage(page);
+        if(request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", page.getPosts());
+        result.put("nextCursor", page.getNextCursor());
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(result);
+    }
+
+    @GetMapping("/ranked")
+    public ResponseEntity<Map> getRankedPosts(@RequestParam(defaultValue = "hot") String strategy,
+                                              @RequestParam(required = false) Integer page,
+                                              @RequestParam(required = false) Integer size) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", postService.getRankedPosts(strategy, page, size));
 
         return ResponseEntity.ok(result);
     }
 
-    @GetMapping("/{postId}")
-    public ResponseEntity<Post> getPostDetails(@PathVariable Long postId) {
-        postService.calculateAllRatings();
-        Post post = postService.getPostById(postId);
+    @GetMapping("/search")
+    public ResponseEntity<Map> searchPosts(@RequestParam("q") String query,
+                                           @RequestParam(required = false) Integer size) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", postService.searchPosts(query, size));
+
+        return ResponseEntity.ok(result);
+    }
 
-        return ResponseEntity.ok(post);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllPosts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingJsonArray.of(objectMapper, postService::exportFeed));
+    }
+
+    @GetMapping("/{postId}")
+    public ResponseEntity<PostDetailsDTO> getPostDetails(@PathVariable Long postId, WebRequest request) {
+        PostDetailsDTO post = postService.getPostDetails(postId);
+        String eTag = ContentETags.forPost(post);
+        if(request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(post);
     }
 
     @PostMapping
-    public ResponseEntity<Post> addNewPost(@RequestBody @Valid NewPostDTO postData,
-                                           @AuthenticationPrincipal User user) {
+    public ResponseEntity<PostDetailsDTO> addNewPost(@RequestBody @Valid NewPostDTO postData,
+                                                     @AuthenticationPrincipal User user) {
         Post newPost = postService.create(postData, user);
 
-        return ResponseEntity.ok(newPost);
+        return ResponseEntity.ok(new PostDetailsDTO(newPost));
     }
 
     @PatchMapping("/{postId}")
-    public ResponseEntity<Post> editPost(@RequestBody @Valid NewPostDTO postData,
-                                         @PathVariable Long postId,
-                                         @AuthenticationPrincipal User user) {
+    public ResponseEntity<PostDetailsDTO> editPost(@RequestBody @Valid NewPostDTO postData,
+                                                   @PathVariable Long postId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch,
+                                                   @AuthenticationPrincipal User user) {
         Post originalPost = postService.getPostById(postId);
         postService.verifyAuthor(originalPost, user);
-        Post updatedPost = postService.update(originalPost, postData);
+        if(ifMatch != null && !ContentETags.matchesPostVersion(ifMatch, originalPost.getId(), originalPost.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        PostDetailsDTO updatedPost = new PostDetailsDTO(postService.update(originalPost, postData));
 
-        return ResponseEntity.ok(updatedPost);
+        return ResponseEntity.ok().eTag(ContentETags.forPost(updatedPost)).body(updatedPost);
     }
 
     @DeleteMapping("/{postId}")
@@ -1,10 +1,13 @@
 package com.blog.blogbackend.controllers;
 
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
 import com.blog.blogbackend.models.DTOs.NewUserDTO;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.services.UserService;
 import com.blog.blogbackend.utils.DTOValidationResultHandler;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -43,6 +46,15 @@ public class RegistrationController {
         return ResponseEntity.status(401).body(result);
     }
 
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<Map> passwordHashingSaturated(PasswordHashingSaturatedException e) {
+
+        Map<String, String> result = new HashMap<>();
+        result.put("error", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map> otherErrors(Exception e) {
 
@@ -52,6 +64,17 @@ public class RegistrationController {
         return ResponseEntity.status(401).body(result);
     }
 
+    // Only a hint: registration repeats the check and the unique constraint has the final say.
+    @GetMapping("/availability")
+    public ResponseEntity<Map> checkUsernameAvailability(@RequestParam String username) {
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("username", username);
+        result.put("available", userService.isUsernameAvailable(username));
+
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping
     public ResponseEntity<Map> registerUser(@RequestBody @Valid NewUserDTO userData) throws Exception {
 
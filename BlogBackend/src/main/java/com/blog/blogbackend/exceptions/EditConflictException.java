@@ -0,0 +1,7 @@
+package com.blog.blogbackend.exceptions;
+
+public class EditConflictException extends RuntimeException {
+    public EditConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.blogbackend.filters;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of requests in flight. With platform threads Tomcat's pool already does this;
+ * with virtual threads nothing does, and thousands of requests would queue inside the connection
+ * pool until they time out. Enabled by default only when virtual threads are, and sized from the
+ * datasource pool so requests wait here briefly and are refused with 503 instead. A request that
+ * goes async, such as a StreamingResponseBody export, keeps its permit until the response completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final int DEFAULT_DATASOURCE_POOL_SIZE = 10;
+    private static final int REQUESTS_PER_CONNECTION = 2;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 500;
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConcurrencyLimitFilter(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                DEFAULT_DATASOURCE_POOL_SIZE);
+
+        this.enabled = environment.getProperty("requests.concurrency-limit.enabled", Boolean.class, virtualThreads);
+        this.permits = new Semaphore(environment.getProperty("requests.concurrency-limit.max-concurrent", Integer.class,
+                poolSize * REQUESTS_PER_CONNECTION), true);
+        this.acquireTimeoutMillis = environment.getProperty("requests.concurrency-limit.acquire-timeout-ms", Long.class,
+                DEFAULT_ACQUIRE_TIMEOUT_MS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        }catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if(!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry shortly.\"}");
+            return;
+        }
+
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, response);
+            if(request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+                releaseNow = false;
+            }
+        }finally {
+            if(releaseNow) {
+                permits.release();
+            }
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private class PermitReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if(released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
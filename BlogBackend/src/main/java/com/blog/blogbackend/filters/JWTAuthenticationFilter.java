@@ -1,11 +1,15 @@
 package com.blog.blogbackend.filters;
 
+import com.blog.blogbackend.caches.UserStatusCache;
+import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.services.JwtService;
-import com.blog.blogbackend.services.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,10 +26,15 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userService;
+    private final UserStatusCache userStatusCache;
+    private final boolean statelessAuthentication;
 
-    public JWTAuthenticationFilter(JwtService jwtService, UserService userService) {
+    public JWTAuthenticationFilter(JwtService jwtService, UserDetailsService userService, UserStatusCache userStatusCache,
+                                   Environment environment) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.userStatusCache = userStatusCache;
+        this.statelessAuthentication = environment.getProperty("auth.stateless.enabled", Boolean.class, false);
     }
 
     @Override
@@ -43,12 +52,21 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
         final int NUMBER_OF_CHARACTERS_IN_HEADER_BEFORE_TOKEN = 7;
         final String jwt = authHeader.substring(NUMBER_OF_CHARACTERS_IN_HEADER_BEFORE_TOKEN);
-        final String username = jwtService.extractUsername(jwt);
+        final Claims claims;
+
+        try {
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String username = claims.get("username", String.class);
 
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails user = userService.loadUserByUsername(username);
+            UserDetails user = resolveUser(claims, username);
 
-            if(jwtService.isTokenValid(jwt, user)) {
+            if(user != null && jwtService.isTokenValid(claims, user)) {
 
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
@@ -60,4 +78,16 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(Claims claims, String username) {
+        if(statelessAuthentication) {
+            User user = jwtService.extractUser(claims);
+
+            if(user != null) {
+                return userStatusCache.isActive(user.getId()) ? user : null;
+            }
+        }
+
+        return userService.loadUserByUsername(username);
+    }
 }
@@ -0,0 +1,35 @@
+package com.blog.blogbackend.jobs;
+
+import com.blog.blogbackend.services.PostService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs post ratings and comment counts that drifted away from post_votes and comments.
+ * Both counters are kept up to date incrementally, so this only has to catch rows touched
+ * outside the service layer (manual fixes, failed deployments, imports).
+ */
+@Component
+public class PostCountersReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCountersReconciliationJob.class);
+
+    private final PostService postService;
+
+    public PostCountersReconciliationJob(PostService postService) {
+        this.postService = postService;
+    }
+
+    @Scheduled(cron = "${posts.counters.reconciliation-cron:0 0 4 * * *}")
+    public void reconcileCounters() {
+        int repairedRatings = postService.calculateAllRatings();
+        int repairedCommentCounts = postService.calculateAllCommentCounts();
+
+        if(repairedRatings > 0 || repairedCommentCounts > 0) {
+            logger.warn("Counter reconciliation repaired {} rating(s) and {} comment count(s).",
+                    repairedRatings, repairedCommentCounts);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.blog.blogbackend.jobs;
+
+import com.blog.blogbackend.ranking.RankingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recomputes the precomputed ranking scores so ranked listings stay a plain index scan.
+ */
+@Component
+public class PostRankingJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostRankingJob.class);
+
+    private final List<RankingStrategy> rankingStrategies;
+
+    public PostRankingJob(List<RankingStrategy> rankingStrategies) {
+        this.rankingStrategies = rankingStrategies;
+    }
+
+    @Scheduled(fixedDelayString = "${posts.ranking.refresh-interval-ms:300000}")
+    public void refreshScores() {
+        for(RankingStrategy strategy : rankingStrategies) {
+            int refreshedPosts = strategy.refreshScores();
+            logger.debug("Ranking strategy {} refreshed {} post(s).", strategy.getName(), refreshedPosts);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.blog.blogbackend.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 
 import java.util.Date;
@@ -14,6 +15,7 @@ public class Comment {
     private Long id;
     @Column(nullable = false)
     private String content;
+    @JsonIncludeProperties({"id", "username"})
     @ManyToOne
     @JoinColumn(name = "author_id")
     private User author;
@@ -23,6 +25,8 @@ public class Comment {
     private Post post;
     private Date createdAt = new Date();
     private boolean deleted = false;
+    @Version
+    private Long version;
 
     public Comment(String content, User author, Post post) {
         this.content = content;
@@ -80,4 +84,12 @@ public class Comment {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
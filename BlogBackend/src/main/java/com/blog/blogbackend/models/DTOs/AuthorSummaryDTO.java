@@ -0,0 +1,36 @@
+package com.blog.blogbackend.models.DTOs;
+
+import com.blog.blogbackend.models.User;
+
+public class AuthorSummaryDTO {
+    private Long id;
+    private String username;
+
+    public AuthorSummaryDTO(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public AuthorSummaryDTO(User user) {
+        this(user.getId(), user.getUsername());
+    }
+
+    public AuthorSummaryDTO() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.blogbackend.models.DTOs;
+
+import com.blog.blogbackend.models.Comment;
+
+import java.util.Date;
+
+public class CommentDTO {
+    private Long id;
+    private Long postId;
+    private String content;
+    private Date createdAt;
+    private Long version;
+    private AuthorSummaryDTO author;
+
+    public CommentDTO(Comment comment) {
+        this.id = comment.getId();
+        this.postId = comment.getPost().getId();
+        this.content = comment.getContent();
+        this.createdAt = comment.getCreatedAt();
+        this.version = comment.getVersion();
+        this.author = new AuthorSummaryDTO(comment.getAuthor());
+    }
+
+    public CommentDTO(Long id, Long postId, String content, Date createdAt, Long version, Long authorId,
+                      String authorUsername) {
+        this.id = id;
+        this.postId = postId;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.version = version;
+        this.author = new AuthorSummaryDTO(authorId, authorUsername);
+    }
+
+    public CommentDTO() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public AuthorSummaryDTO getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(AuthorSummaryDTO author) {
+        this.author = author;
+    }
+}
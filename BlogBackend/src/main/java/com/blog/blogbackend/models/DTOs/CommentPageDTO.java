@@ -0,0 +1,32 @@
+package com.blog.blogbackend.models.DTOs;
+
+import java.util.List;
+
+public class CommentPageDTO {
+    private List<CommentDTO> comments;
+    private String nextCursor;
+
+    public CommentPageDTO() {
+    }
+
+    public CommentPageDTO(List<CommentDTO> comments, String nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CommentDTO> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentDTO> comments) {
+        this.comments = comments;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
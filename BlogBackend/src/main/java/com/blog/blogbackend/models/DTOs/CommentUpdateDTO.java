@@ -8,6 +8,7 @@ public class CommentUpdateDTO {
     @NotBlank(message = "Content is required.")
     @NotNull(message = "Content is required.")
     private String content;
+    private Long version;
 
     public CommentUpdateDTO() {
     }
@@ -16,6 +17,11 @@ public class CommentUpdateDTO {
         this.content = content;
     }
 
+    public CommentUpdateDTO(String content, Long version) {
+        this.content = content;
+        this.version = version;
+    }
+
     public String getContent() {
         return content;
     }
@@ -23,4 +29,12 @@ public class CommentUpdateDTO {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
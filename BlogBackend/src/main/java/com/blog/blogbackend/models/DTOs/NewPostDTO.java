@@ -11,12 +11,18 @@ public class NewPostDTO {
     @NotNull(message = "Content is required.")
     @NotBlank(message = "Content is required.")
     private String content;
+    private Long version;
 
     public NewPostDTO(String title, String content) {
         this.title = title;
         this.content = content;
     }
 
+    public NewPostDTO(String title, String content, Long version) {
+        this(title, content);
+        this.version = version;
+    }
+
     public NewPostDTO() {
     }
 
@@ -35,4 +41,12 @@ public class NewPostDTO {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
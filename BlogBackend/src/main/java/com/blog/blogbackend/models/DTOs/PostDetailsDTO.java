@@ -0,0 +1,106 @@
+package com.blog.blogbackend.models.DTOs;
+
+import com.blog.blogbackend.models.Post;
+
+import java.util.Date;
+
+public class PostDetailsDTO {
+    private Long id;
+    private String title;
+    private String content;
+    private Date createdAt;
+    private int rating;
+    private int numberOfComments;
+    private Long version;
+    private AuthorSummaryDTO author;
+
+    public PostDetailsDTO(Post post) {
+        this.id = post.getId();
+        this.title = post.getTitle();
+        this.content = post.getContent();
+        this.createdAt = post.getCreatedAt();
+        this.rating = post.getRating();
+        this.numberOfComments = post.getCommentCount();
+        this.version = post.getVersion();
+        this.author = new AuthorSummaryDTO(post.getAuthor());
+    }
+
+    public PostDetailsDTO(Long id, String title, String content, Date createdAt, int rating, int numberOfComments,
+                          Long version, Long authorId, String authorUsername) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.rating = rating;
+        this.numberOfComments = numberOfComments;
+        this.version = version;
+        this.author = new AuthorSummaryDTO(authorId, authorUsername);
+    }
+
+    public PostDetailsDTO() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    public int getNumberOfComments() {
+        return numberOfComments;
+    }
+
+    public void setNumberOfComments(int numberOfComments) {
+        this.numberOfComments = numberOfComments;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public AuthorSummaryDTO getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(AuthorSummaryDTO author) {
+        this.author = author;
+    }
+}
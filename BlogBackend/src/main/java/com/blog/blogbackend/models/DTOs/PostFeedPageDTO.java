@@ -0,0 +1,32 @@
+package com.blog.blogbackend.models.DTOs;
+
+import java.util.List;
+
+public class PostFeedPageDTO {
+    private List<PostOverviewDTO> posts;
+    private String nextCursor;
+
+    public PostFeedPageDTO() {
+    }
+
+    public PostFeedPageDTO(List<PostOverviewDTO> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PostOverviewDTO> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<PostOverviewDTO> posts) {
+        this.posts = posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
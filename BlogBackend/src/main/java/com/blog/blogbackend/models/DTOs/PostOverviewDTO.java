@@ -1,7 +1,6 @@
 package com.blog.blogbackend.models.DTOs;
 
 import com.blog.blogbackend.models.Post;
-import com.blog.blogbackend.models.User;
 
 import java.util.Date;
 
@@ -11,7 +10,7 @@ public class PostOverviewDTO {
     private String content;
     private Date createdAt;
     private int rating;
-    private User author;
+    private AuthorSummaryDTO author;
     private int numberOfComments;
 
     public PostOverviewDTO(Post post) {
@@ -20,8 +19,19 @@ public class PostOverviewDTO {
         this.content = post.getContent();
         this.createdAt = post.getCreatedAt();
         this.rating = post.getRating();
-        this.author = post.getAuthor();
-        numberOfComments = post.getComments().size();
+        this.author = new AuthorSummaryDTO(post.getAuthor());
+        numberOfComments = post.getCommentCount();
+    }
+
+    public PostOverviewDTO(Long id, String title, String content, Date createdAt, int rating, int numberOfComments,
+                           Long authorId, String authorUsername) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.rating = rating;
+        this.author = new AuthorSummaryDTO(authorId, authorUsername);
+        this.numberOfComments = numberOfComments;
     }
 
     public PostOverviewDTO() {
@@ -67,11 +77,11 @@ public class PostOverviewDTO {
         this.rating = rating;
     }
 
-    public User getAuthor() {
+    public AuthorSummaryDTO getAuthor() {
         return author;
     }
 
-    public void setAuthor(User author) {
+    public void setAuthor(AuthorSummaryDTO author) {
         this.author = author;
     }
 
@@ -1,6 +1,7 @@
 package com.blog.blogbackend.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 
 import java.util.ArrayList;
@@ -19,7 +20,16 @@ public class Post {
     @Column(nullable = false)
     private String content;
     private Date createdAt = new Date();
+    // Counters and ranking scores are maintained only through PostRepository queries, never by entity flushes.
+    @Column(updatable = false)
     private int rating = 0;
+    @Column(updatable = false)
+    private int commentCount = 0;
+    @Column(updatable = false)
+    private double hotScore = 0;
+    @Column(updatable = false)
+    private double controversyScore = 0;
+    @JsonIncludeProperties({"id", "username"})
     @ManyToOne
     @JoinColumn(name = "author_id")
     private User author;
@@ -30,6 +40,9 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
     private List<Comment> comments;
     private boolean deleted = false;
+    // Bumped by title/content edits and soft deletes; counter queries leave it untouched so votes never conflict.
+    @Version
+    private Long version;
 
     public Post(String title, String content, User author) {
         this.title = title;
@@ -81,6 +94,30 @@ public class Post {
         this.rating = rating;
     }
 
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public double getHotScore() {
+        return hotScore;
+    }
+
+    public void setHotScore(double hotScore) {
+        this.hotScore = hotScore;
+    }
+
+    public double getControversyScore() {
+        return controversyScore;
+    }
+
+    public void setControversyScore(double controversyScore) {
+        this.controversyScore = controversyScore;
+    }
+
     public User getAuthor() {
         return author;
     }
@@ -112,4 +149,12 @@ public class Post {
     public void setDeleted(boolean deleted) {
         this.deleted = deleted;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,45 @@
+package com.blog.blogbackend.ranking;
+
+import com.blog.blogbackend.repositories.PostRepository;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (upvotes + downvotes) ^ (minority / majority): many votes split evenly rank highest,
+ * one-sided posts score 0. The score only moves when votes do, so each refresh rescores just the
+ * posts whose rating changed within the last two refresh intervals.
+ */
+@Component
+public class ControversialRankingStrategy implements RankingStrategy {
+
+    private static final long DEFAULT_REFRESH_INTERVAL_MS = 300000;
+
+    private final PostRepository postRepository;
+    private final Environment environment;
+
+    public ControversialRankingStrategy(PostRepository postRepository, Environment environment) {
+        this.postRepository = postRepository;
+        this.environment = environment;
+    }
+
+    @Override
+    public String getName() {
+        return "controversial";
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.by(Sort.Direction.DESC, "controversyScore", "id");
+    }
+
+    @Override
+    public int refreshScores() {
+        long refreshIntervalMs = environment.getProperty("posts.ranking.refresh-interval-ms", Long.class,
+                DEFAULT_REFRESH_INTERVAL_MS);
+
+        return postRepository.refreshControversyScores(TimeUnit.MILLISECONDS.toSeconds(2 * refreshIntervalMs));
+    }
+}
@@ -0,0 +1,53 @@
+package com.blog.blogbackend.ranking;
+
+import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.utils.TimeProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rating / (age in hours + 2) ^ gravity, so a post has to keep collecting votes to stay on top.
+ * Only posts younger than posts.ranking.hot-window-hours are rescored; older ones drop to 0 once
+ * and are left alone afterwards, so the refresh does not rewrite the whole table.
+ */
+@Component
+public class HotRankingStrategy implements RankingStrategy {
+
+    private static final double DEFAULT_GRAVITY = 1.8;
+    private static final long DEFAULT_WINDOW_HOURS = 48;
+
+    private final PostRepository postRepository;
+    private final TimeProvider timeProvider;
+    private final Environment environment;
+
+    public HotRankingStrategy(PostRepository postRepository, TimeProvider timeProvider, Environment environment) {
+        this.postRepository = postRepository;
+        this.timeProvider = timeProvider;
+        this.environment = environment;
+    }
+
+    @Override
+    public String getName() {
+        return "hot";
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.by(Sort.Direction.DESC, "hotScore", "id");
+    }
+
+    @Override
+    public int refreshScores() {
+        double gravity = environment.getProperty("posts.ranking.hot-gravity", Double.class, DEFAULT_GRAVITY);
+        long windowHours = environment.getProperty("posts.ranking.hot-window-hours", Long.class, DEFAULT_WINDOW_HOURS);
+
+        Date now = timeProvider.now();
+        Date since = new Date(now.getTime() - TimeUnit.HOURS.toMillis(windowHours));
+
+        return postRepository.refreshHotScores(now, since, gravity) + postRepository.clearHotScoresCreatedBefore(since);
+    }
+}
@@ -0,0 +1,18 @@
+package com.blog.blogbackend.ranking;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NewRankingStrategy implements RankingStrategy {
+
+    @Override
+    public String getName() {
+        return "new";
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    }
+}
@@ -0,0 +1,17 @@
+package com.blog.blogbackend.ranking;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Orders the post listing. Strategies that rank by a derived score keep it in an indexed
+ * posts column and recompute it in {@link #refreshScores()}, which runs in the background.
+ */
+public interface RankingStrategy {
+    String getName();
+
+    Sort getSort();
+
+    default int refreshScores() {
+        return 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.blog.blogbackend.ranking;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TopRankingStrategy implements RankingStrategy {
+
+    @Override
+    public String getName() {
+        return "top";
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.by(Sort.Direction.DESC, "rating", "id");
+    }
+}
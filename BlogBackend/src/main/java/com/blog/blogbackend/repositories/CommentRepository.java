@@ -1,16 +1,71 @@
 package com.blog.blogbackend.repositories;
 
 import com.blog.blogbackend.models.Comment;
+import com.blog.blogbackend.models.DTOs.CommentDTO;
 import com.blog.blogbackend.models.Post;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByDeletedOrderByCreatedAtDesc(boolean deleted);
     Optional<Comment> findByIdAndDeleted(Long id, boolean deleted);
     List<Comment> findAllByPostAndDeleted(Post post, boolean deleted);
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.CommentDTO(" +
+            "c.id, c.post.id, c.content, c.createdAt, c.version, a.id, a.username) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.post.id = :postId AND c.deleted = false ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findPageForPost(Long postId, Pageable pageable);
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.CommentDTO(" +
+            "c.id, c.post.id, c.content, c.createdAt, c.version, a.id, a.username) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.post.id = :postId AND c.deleted = false " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findPageForPostAfter(Long postId, Date createdAt, Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.CommentDTO(" +
+            "c.id, c.post.id, c.content, c.createdAt, c.version, a.id, a.username) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.post.id = :postId AND c.deleted = false ORDER BY c.createdAt ASC, c.id ASC")
+    Stream<CommentDTO> streamForPost(Long postId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.deleted = true, c.version = c.version + 1 WHERE c.id = :commentId AND c.deleted = false")
+    int softDeleteById(Long commentId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.deleted = true, c.version = c.version + 1 " +
+            "WHERE c.post.id = :postId AND c.deleted = false")
+    int softDeleteAllByPostId(Long postId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.deleted = true, c.version = c.version + 1 " +
+            "WHERE c.post.id IN (SELECT p.id FROM Post p WHERE p.author.id = :authorId) AND c.deleted = false")
+    int softDeleteAllOnPostsByAuthorId(Long authorId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.deleted = true, c.version = c.version + 1 " +
+            "WHERE c.author.id = :authorId AND c.deleted = false")
+    int softDeleteAllByAuthorId(Long authorId);
 }
@@ -1,18 +1,154 @@
 package com.blog.blogbackend.repositories;
 
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
 import com.blog.blogbackend.models.Post;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Post> findAllByDeletedOrderByRatingDesc(boolean deleted);
 
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostOverviewDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.deleted = false ORDER BY p.rating DESC, p.id DESC")
+    List<PostOverviewDTO> findFeedFirstPage(Pageable pageable);
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostOverviewDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.deleted = false " +
+            "AND (p.rating < :rating OR (p.rating = :rating AND p.id < :id)) " +
+            "ORDER BY p.rating DESC, p.id DESC")
+    List<PostOverviewDTO> findFeedPageAfter(int rating, Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostOverviewDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.deleted = false ORDER BY p.rating DESC, p.id DESC")
+    Stream<PostOverviewDTO> streamFeed();
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostOverviewDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.deleted = false")
+    List<PostOverviewDTO> findRanked(Pageable pageable);
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostOverviewDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.id IN :ids AND p.deleted = false")
+    List<PostOverviewDTO> findOverviewsByIds(Collection<Long> ids);
+
     Optional<Post> findByTitleAndDeleted(String title, boolean deleted);
 
     Optional<Post> findByIdAndDeleted(long id, boolean deleted);
+
+    @Query("SELECT new com.blog.blogbackend.models.DTOs.PostDetailsDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.rating, p.commentCount, p.version, a.id, a.username) " +
+            "FROM Post p JOIN p.author a WHERE p.id = :id AND p.deleted = false")
+    Optional<PostDetailsDTO> findDetailsById(Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.deleted = true, p.version = p.version + 1 WHERE p.id = :postId AND p.deleted = false")
+    int softDeleteById(Long postId);
+
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId AND p.deleted = false")
+    List<Long> findIdsByAuthorId(Long authorId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.deleted = true, p.version = p.version + 1 " +
+            "WHERE p.author.id = :authorId AND p.deleted = false")
+    int softDeleteAllByAuthorId(Long authorId);
+
+    @Query("SELECT p.rating FROM Post p WHERE p.id = :postId")
+    int findRatingById(Long postId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts SET rating = rating + :delta, rated_at = LOCALTIMESTAMP WHERE id = :postId",
+            nativeQuery = true)
+    int incrementRating(Long postId, int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.rating = " +
+            "(SELECT CAST(COALESCE(SUM(v.voteValue), 0) AS Integer) FROM Vote v WHERE v.post = p AND v.deleted = false) " +
+            "WHERE p.deleted = false " +
+            "AND p.rating <> " +
+            "(SELECT CAST(COALESCE(SUM(v.voteValue), 0) AS Integer) FROM Vote v WHERE v.post = p AND v.deleted = false)")
+    int reconcileRatings();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.rating = " +
+            "(SELECT CAST(COALESCE(SUM(v.voteValue), 0) AS Integer) FROM Vote v WHERE v.post = p AND v.deleted = false) " +
+            "WHERE p.deleted = false AND p.id IN (SELECT v.post.id FROM Vote v WHERE v.user.id = :userId)")
+    int recountRatingsOnPostsVotedBy(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int incrementCommentCount(Long postId, int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = " +
+            "(SELECT CAST(COUNT(c) AS Integer) FROM Comment c WHERE c.post = p AND c.deleted = false) " +
+            "WHERE p.deleted = false " +
+            "AND p.commentCount <> (SELECT CAST(COUNT(c) AS Integer) FROM Comment c WHERE c.post = p AND c.deleted = false)")
+    int reconcileCommentCounts();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = " +
+            "(SELECT CAST(COUNT(c) AS Integer) FROM Comment c WHERE c.post = p AND c.deleted = false) " +
+            "WHERE p.deleted = false AND p.id IN (SELECT c.post.id FROM Comment c WHERE c.author.id = :authorId)")
+    int recountCommentsOnPostsCommentedBy(Long authorId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts SET hot_score = " +
+            "rating / POWER(TIMESTAMPDIFF(SECOND, created_at, :now) / 3600.0 + 2, :gravity) " +
+            "WHERE deleted = false AND created_at >= :since",
+            nativeQuery = true)
+    int refreshHotScores(Date now, Date since, double gravity);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts SET hot_score = 0 WHERE deleted = false AND created_at < :since AND hot_score <> 0",
+            nativeQuery = true)
+    int clearHotScoresCreatedBefore(Date since);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts SET controversy_score = COALESCE((" +
+            "SELECT CASE WHEN SUM(CASE WHEN v.vote_value > 0 THEN 1 ELSE 0 END) = 0 " +
+            "OR SUM(CASE WHEN v.vote_value < 0 THEN 1 ELSE 0 END) = 0 THEN 0 " +
+            "ELSE POWER(SUM(ABS(v.vote_value)), " +
+            "LEAST(SUM(CASE WHEN v.vote_value > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN v.vote_value < 0 THEN 1 ELSE 0 END)) * 1.0 / " +
+            "GREATEST(SUM(CASE WHEN v.vote_value > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN v.vote_value < 0 THEN 1 ELSE 0 END))) END " +
+            "FROM post_votes v WHERE v.post_id = posts.id AND v.deleted = false), 0) " +
+            "WHERE deleted = false AND rated_at >= TIMESTAMPADD(SECOND, -:lookbackSeconds, LOCALTIMESTAMP)",
+            nativeQuery = true)
+    int refreshControversyScores(long lookbackSeconds);
 }
@@ -1,12 +1,38 @@
 package com.blog.blogbackend.repositories;
 
 import com.blog.blogbackend.models.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findUserByUsernameAndDeleted(String username, boolean deleted);
+
+    boolean existsByIdAndDeleted(Long id, boolean deleted);
+
+    boolean existsByUsername(String username);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.username FROM User u WHERE u.username IS NOT NULL")
+    Stream<String> streamAllUsernames();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    int updatePassword(Long userId, String password);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.deleted = true WHERE u.id = :userId AND u.deleted = false")
+    int softDeleteById(Long userId);
 }
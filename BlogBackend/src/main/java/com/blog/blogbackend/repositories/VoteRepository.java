@@ -4,15 +4,43 @@ import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.models.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VoteRepository extends JpaRepository<Vote, Long> {
+public interface VoteRepository extends JpaRepository<Vote, Long>, VoteRepositoryCustom {
     Optional<Vote> findByUserAndPost(User user, Post post);
 
-    @Query("SELECT COALESCE(SUM(r.voteValue), 0) FROM Vote r WHERE r.post = :post")
+    List<Vote> findAllByPostAndDeleted(Post post, boolean deleted);
+
+    @Query("SELECT COALESCE(SUM(r.voteValue), 0) FROM Vote r WHERE r.post = :post AND r.deleted = false")
     int getRatingForPost(Post post);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE post_votes SET vote_value = vote_value + :delta " +
+            "WHERE user_id = :userId AND post_id = :postId AND vote_value + :delta BETWEEN -1 AND 1",
+            nativeQuery = true)
+    int applyVoteDelta(Long userId, Long postId, int delta);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vote v SET v.deleted = true WHERE v.post.id = :postId AND v.deleted = false")
+    int softDeleteAllByPostId(Long postId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vote v SET v.deleted = true " +
+            "WHERE v.post.id IN (SELECT p.id FROM Post p WHERE p.author.id = :authorId) AND v.deleted = false")
+    int softDeleteAllOnPostsByAuthorId(Long authorId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vote v SET v.deleted = true WHERE v.user.id = :userId AND v.deleted = false")
+    int softDeleteAllByUserId(Long userId);
 }
@@ -0,0 +1,5 @@
+package com.blog.blogbackend.repositories;
+
+public interface VoteRepositoryCustom {
+    int insertVoteIfAbsent(Long userId, Long postId, int voteValue);
+}
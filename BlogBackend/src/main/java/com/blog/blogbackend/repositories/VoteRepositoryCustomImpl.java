@@ -0,0 +1,29 @@
+package com.blog.blogbackend.repositories;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts a first vote with a plain INSERT on the caller's connection. Only the duplicate-key
+ * error of a vote that already exists is absorbed; any other integrity error, such as a post or
+ * user deleted concurrently, still reaches the caller. Going through JDBC keeps the failed
+ * statement from marking the surrounding JPA transaction rollback-only.
+ */
+public class VoteRepositoryCustomImpl implements VoteRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoteRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertVoteIfAbsent(Long userId, Long postId, int voteValue) {
+        try {
+            return jdbcTemplate.update("INSERT INTO post_votes (user_id, post_id, vote_value, deleted) " +
+                    "VALUES (?, ?, ?, false)", userId, postId, voteValue);
+        }catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.blogbackend.search;
+
+import java.util.*;
+
+/**
+ * Term to posting list index scored with Okapi BM25. Not thread-safe; {@link PostSearchIndex}
+ * guards it with a read/write lock.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<SearchHit> BY_RELEVANCE = Comparator.comparingDouble(SearchHit::score)
+            .thenComparing(Comparator.comparingLong(SearchHit::postId).reversed());
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> termFrequenciesByDocument = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    public void put(long documentId, List<String> tokens) {
+        remove(documentId);
+        if(tokens.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        tokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+        termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(documentId, frequency));
+        termFrequenciesByDocument.put(documentId, termFrequencies);
+        documentLengths.put(documentId, tokens.size());
+        totalLength += tokens.size();
+    }
+
+    public void remove(long documentId) {
+        Map<String, Integer> termFrequencies = termFrequenciesByDocument.remove(documentId);
+        if(termFrequencies == null) {
+            return;
+        }
+
+        termFrequencies.keySet().forEach(term -> {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(documentId);
+            if(posting.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalLength -= documentLengths.remove(documentId);
+    }
+
+    public int size() {
+        return documentLengths.size();
+    }
+
+    public List<SearchHit> search(List<String> queryTokens, int limit) {
+        int documentCount = documentLengths.size();
+        if(documentCount == 0 || limit < 1) {
+            return List.of();
+        }
+
+        double averageLength = (double) totalLength / documentCount;
+        Map<Long, Double> scores = new HashMap<>();
+        for(String term : new LinkedHashSet<>(queryTokens)) {
+            Map<Long, Integer> posting = postings.get(term);
+            if(posting == null) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            posting.forEach((documentId, frequency) -> {
+                double lengthNorm = 1 - B + B * documentLengths.get(documentId) / averageLength;
+                scores.merge(documentId, idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm), Double::sum);
+            });
+        }
+
+        // Min-heap of the best `limit` hits so far: O(n log k) instead of sorting every match.
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, BY_RELEVANCE);
+        scores.forEach((documentId, score) -> {
+            best.offer(new SearchHit(documentId, score));
+            if(best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(BY_RELEVANCE.reversed());
+        return hits;
+    }
+}
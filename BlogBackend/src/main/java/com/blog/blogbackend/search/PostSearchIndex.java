@@ -0,0 +1,141 @@
+package com.blog.blogbackend.search;
+
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.repositories.PostRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index over post titles and content. PostServiceImpl keeps it current on
+ * create, edit and delete; the periodic rebuild streams every live post from the database, which
+ * also picks up changes made by other instances. Title words count double.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private InvertedIndex rebuilding;
+    // Posts changed while a rebuild streams; their live state is already in the new index and must
+    // not be overwritten by the possibly older row the stream returns.
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+
+    public PostSearchIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> queryTokens = SearchTokenizer.tokenize(query);
+        if(queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(queryTokens, limit);
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Post post) {
+        List<String> tokens = documentTokens(post.getTitle(), post.getContent());
+
+        lock.writeLock().lock();
+        try {
+            index.put(post.getId(), tokens);
+            if(rebuilding != null) {
+                rebuilding.put(post.getId(), tokens);
+                changedDuringRebuild.add(post.getId());
+            }
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(postId);
+            if(rebuilding != null) {
+                rebuilding.remove(postId);
+                changedDuringRebuild.add(postId);
+            }
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.search.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        InvertedIndex rebuilt = new InvertedIndex();
+        lock.writeLock().lock();
+        try {
+            rebuilding = rebuilt;
+            changedDuringRebuild.clear();
+        }finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean completed = false;
+        try(Stream<PostOverviewDTO> posts = postRepository.streamFeed()) {
+            posts.forEach(post -> {
+                List<String> tokens = documentTokens(post.getTitle(), post.getContent());
+                lock.writeLock().lock();
+                try {
+                    if(!changedDuringRebuild.contains(post.getId())) {
+                        rebuilt.put(post.getId(), tokens);
+                    }
+                }finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            completed = true;
+        }finally {
+            lock.writeLock().lock();
+            try {
+                if(completed) {
+                    index = rebuilt;
+                }
+                rebuilding = null;
+                changedDuringRebuild.clear();
+            }finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static List<String> documentTokens(String title, String content) {
+        List<String> titleTokens = SearchTokenizer.tokenize(title);
+        List<String> tokens = new ArrayList<>(titleTokens.size() * TITLE_WEIGHT);
+        for(int i = 0; i < TITLE_WEIGHT; i++) {
+            tokens.addAll(titleTokens);
+        }
+        tokens.addAll(SearchTokenizer.tokenize(content));
+
+        return tokens;
+    }
+}
@@ -0,0 +1,4 @@
+package com.blog.blogbackend.search;
+
+public record SearchHit(long postId, double score) {
+}
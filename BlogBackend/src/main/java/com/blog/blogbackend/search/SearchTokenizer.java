@@ -0,0 +1,38 @@
+package com.blog.blogbackend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lowercase letter/digit runs, dropping single characters and a few English
+ * stop words that would otherwise match nearly every post. Queries and documents must go
+ * through the same tokenizer.
+ */
+public class SearchTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if(text == null) {
+            return tokens;
+        }
+
+        for(String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if(token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+}
@@ -1,11 +1,14 @@
 package com.blog.blogbackend.services;
 
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
 import com.blog.blogbackend.models.DTOs.AuthResponseDTO;
 import com.blog.blogbackend.models.DTOs.LoginUserDTO;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.repositories.UserRepository;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.InputMismatchException;
@@ -16,11 +19,16 @@ public class AuthServiceImpl implements AuthService{
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
-    public AuthServiceImpl(UserRepository userRepository, AuthenticationManager authenticationManager, JwtService jwtService) {
+    public AuthServiceImpl(UserRepository userRepository, AuthenticationManager authenticationManager, JwtService jwtService,
+                           PasswordEncoder passwordEncoder, UserCache userCache) {
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @Override
@@ -32,6 +40,7 @@ public class AuthServiceImpl implements AuthService{
 
         User user = userRepository.findUserByUsernameAndDeleted(loginData.getUsername(), false)
                 .orElseThrow(() -> new InputMismatchException("Username not found"));
+        upgradePasswordHash(user, loginData.getPassword());
 
         String token = jwtService.generateToken(user);
 
@@ -39,4 +48,19 @@ public class AuthServiceImpl implements AuthService{
 
         return new AuthResponseDTO(user.getUsername(), token);
     }
+
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if(!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            String upgradedHash = passwordEncoder.encode(rawPassword);
+            userRepository.updatePassword(user.getId(), upgradedHash);
+            user.setPassword(upgradedHash);
+            userCache.removeUserFromCache(user.getUsername());
+        }catch (PasswordHashingSaturatedException e) {
+            // The login itself succeeded; the hash is upgraded on a later, quieter login instead.
+        }
+    }
 }
@@ -1,10 +1,13 @@
 package com.blog.blogbackend.services;
 
 import com.blog.blogbackend.models.Comment;
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CommentService {
     List<Comment> getAllComments();
@@ -13,11 +16,21 @@ public interface CommentService {
 
     List<Comment> getCommentsForPost(Post post);
 
+    CommentPageDTO getCommentPageForPost(Long postId, String cursor, Integer requestedPageSize);
+
+    void exportCommentsForPost(Long postId, Consumer<CommentDTO> consumer);
+
     Comment create(String content, User user, Post post);
 
-    Comment update(Comment comment, String newContent);
+    Comment update(Comment comment, String newContent, Long expectedVersion);
 
     void verifyAuthor(Comment comment, User user);
 
     void softDelete(Comment comment);
+
+    int softDeleteAllForPost(Post post);
+
+    int softDeleteAllOnPostsByAuthor(User author);
+
+    int softDeleteAllByAuthor(User author);
 }
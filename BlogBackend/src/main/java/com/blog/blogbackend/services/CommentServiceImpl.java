@@ -1,22 +1,47 @@
 package com.blog.blogbackend.services;
 
+import com.blog.blogbackend.caches.PostLeaderboard;
+import com.blog.blogbackend.exceptions.EditConflictException;
 import com.blog.blogbackend.models.Comment;
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.repositories.CommentRepository;
+import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.utils.AfterCommit;
+import com.blog.blogbackend.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CommentServiceImpl implements CommentService{
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final Environment environment;
+    private final PostLeaderboard postLeaderboard;
 
-    public CommentServiceImpl(CommentRepository commentRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository,
+                              Environment environment, PostLeaderboard postLeaderboard) {
         this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.environment = environment;
+        this.postLeaderboard = postLeaderboard;
     }
 
     @Override
@@ -36,15 +61,74 @@ public class CommentServiceImpl implements CommentService{
     }
 
     @Override
+    public CommentPageDTO getCommentPageForPost(Long postId, String cursor, Integer requestedPageSize) {
+        int pageSize = resolvePageSize(requestedPageSize);
+        Pageable pageWithLookahead = PageRequest.of(0, pageSize + 1);
+
+        List<CommentDTO> comments;
+        if(cursor == null) {
+            comments = commentRepository.findPageForPost(postId, pageWithLookahead);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findPageForPostAfter(postId, new Date(after.getKey()), after.getId(),
+                    pageWithLookahead);
+        }
+
+        if(comments.size() <= pageSize) {
+            return new CommentPageDTO(comments, null);
+        }
+
+        List<CommentDTO> page = comments.subList(0, pageSize);
+        CommentDTO last = page.get(pageSize - 1);
+        String nextCursor = new KeysetCursor(last.getCreatedAt().getTime(), last.getId()).encode();
+
+        return new CommentPageDTO(page, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCommentsForPost(Long postId, Consumer<CommentDTO> consumer) {
+        try(Stream<CommentDTO> comments = commentRepository.streamForPost(postId)) {
+            comments.forEach(consumer);
+        }
+    }
+
+    private int resolvePageSize(Integer requestedPageSize) {
+        int maxPageSize = environment.getProperty("comments.page.max-page-size", Integer.class, MAX_PAGE_SIZE);
+
+        if(requestedPageSize == null) {
+            return Math.min(environment.getProperty("comments.page.default-page-size", Integer.class,
+                    DEFAULT_PAGE_SIZE), maxPageSize);
+        }
+        if(requestedPageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+
+        return Math.min(requestedPageSize, maxPageSize);
+    }
+
+    @Override
+    @Transactional
     public Comment create(String content, User user, Post post) {
-        Comment comment = new Comment(content, user, post);
-        return commentRepository.save(comment);
+        Comment comment = commentRepository.save(new Comment(content, user, post));
+        postRepository.incrementCommentCount(post.getId(), 1);
+        AfterCommit.run(() -> postLeaderboard.onCommentCountChanged(post.getId(), 1));
+        return comment;
     }
 
     @Override
-    public Comment update(Comment comment, String newContent) {
+    public Comment update(Comment comment, String newContent, Long expectedVersion) {
+        String conflictMessage = "Comment with ID " + comment.getId() + " has been changed by someone else.";
+        if(expectedVersion != null && !expectedVersion.equals(comment.getVersion())) {
+            throw new EditConflictException(conflictMessage);
+        }
+
         comment.setContent(newContent);
-        return commentRepository.save(comment);
+        try {
+            return commentRepository.save(comment);
+        }catch (ObjectOptimisticLockingFailureException e) {
+            throw new EditConflictException(conflictMessage);
+        }
     }
 
     @Override
@@ -55,8 +139,37 @@ public class CommentServiceImpl implements CommentService{
     }
 
     @Override
+    @Transactional
     public void softDelete(Comment comment) {
+        if(comment.isDeleted() || commentRepository.softDeleteById(comment.getId()) == 0) {
+            return;
+        }
+
         comment.setDeleted(true);
-        commentRepository.save(comment);
+        Long postId = comment.getPost().getId();
+        postRepository.incrementCommentCount(postId, -1);
+        AfterCommit.run(() -> postLeaderboard.onCommentCountChanged(postId, -1));
+    }
+
+    @Override
+    public int softDeleteAllForPost(Post post) {
+        return commentRepository.softDeleteAllByPostId(post.getId());
+    }
+
+    @Override
+    public int softDeleteAllOnPostsByAuthor(User author) {
+        return commentRepository.softDeleteAllOnPostsByAuthorId(author.getId());
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAllByAuthor(User author) {
+        int deletedComments = commentRepository.softDeleteAllByAuthorId(author.getId());
+        if(deletedComments > 0) {
+            postRepository.recountCommentsOnPostsCommentedBy(author.getId());
+            AfterCommit.run(postLeaderboard::reload);
+        }
+
+        return deletedComments;
     }
 }
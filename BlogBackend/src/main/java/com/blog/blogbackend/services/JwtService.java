@@ -2,6 +2,7 @@ package com.blog.blogbackend.services;
 
 
 import com.blog.blogbackend.models.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Date;
@@ -14,7 +15,13 @@ public interface JwtService {
 
     Long extractId(String jwt);
 
+    Claims extractAllClaims(String jwt);
+
+    User extractUser(Claims claims);
+
     boolean isTokenValid(String jwt, UserDetails userDetails);
 
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
+
     String generateToken(User user);
 }
@@ -1,10 +1,12 @@
 package com.blog.blogbackend.services;
 
 
+import com.blog.blogbackend.models.Role;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.utils.TimeProvider;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -20,12 +22,18 @@ import java.util.function.Function;
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    final Environment environment;
     final TimeProvider timeProvider;
+    private final Key signingKey;
+    private final JwtParser parser;
 
     public JwtServiceImpl(Environment environment, TimeProvider timeProvider) {
-        this.environment = environment;
         this.timeProvider = timeProvider;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(environment.getProperty("jwt.secret-key")));
+        this.parser = Jwts
+                .parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(timeProvider::now)
+                .build();
     }
 
     @Override
@@ -48,32 +56,46 @@ public class JwtServiceImpl implements JwtService {
         return claimsResolver.apply(claims);
     }
 
+    @Override
+    public Claims extractAllClaims(String jwt) {
+        return parser
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    @Override
+    public User extractUser(Claims claims) {
+        final Long userId = claims.get("userId", Long.class);
+        final String username = claims.get("username", String.class);
+        final String role = claims.get("role", String.class);
+
+        if(userId == null || username == null || role == null) {
+            return null;
+        }
+
+        User user = new User(username, null);
+        user.setId(userId);
+        user.setRole(Role.valueOf(role));
+        return user;
+    }
+
     @Override
     public boolean isTokenValid(String jwt, UserDetails userDetails) {
         try {
-            final String username = extractUsername(jwt);
-            return (username.equals(userDetails.getUsername())) && isTokenUnexpired(jwt);
+            return isTokenValid(extractAllClaims(jwt), userDetails);
         } catch (ExpiredJwtException e) {
             return false;
         }
     }
 
-    private boolean isTokenUnexpired(String jwt) {
-        return extractExpiration(jwt).after(timeProvider.now());
-    }
-
-    private Claims extractAllClaims(String jwt) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(jwt)
-                .getBody();
+    @Override
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.get("username", String.class);
+        return userDetails.getUsername().equals(username) && isTokenUnexpired(claims);
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(environment.getProperty("jwt.secret-key"));
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenUnexpired(Claims claims) {
+        return claims.getExpiration().after(timeProvider.now());
     }
 
     @Override
@@ -85,8 +107,9 @@ public class JwtServiceImpl implements JwtService {
                 .builder()
                 .claim("userId", user.getId())
                 .claim("username", user.getUsername())
+                .claim("role", user.getRole() == null ? null : user.getRole().name())
                 .setExpiration(new Date(System.currentTimeMillis() + TWENTY_FOUR_HOURS_IN_MILLISECONDS))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 }
@@ -1,29 +1,48 @@
 package com.blog.blogbackend.services;
 
 import com.blog.blogbackend.models.DTOs.NewPostDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
 import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PostService {
-    void calculateAllRatings();
+    int calculateAllRatings();
+
+    int calculateAllCommentCounts();
 
     List<Post> getAllPostsOrderedByRating();
 
+    PostFeedPageDTO getFeedPage(String cursor, Integer requestedPageSize);
+
+    List<PostOverviewDTO> getRankedPosts(String strategyName, Integer page, Integer requestedPageSize);
+
+    List<PostOverviewDTO> searchPosts(String query, Integer requestedPageSize);
+
+    void exportFeed(Consumer<PostOverviewDTO> consumer);
+
     List<PostOverviewDTO> convertPostsToOverviews(List<Post> posts);
 
     Post create(NewPostDTO postData, User author);
 
     Post getPostById(Long id);
 
+    PostDetailsDTO getPostDetails(Long id);
+
     Post update(Post originalPost, NewPostDTO updateData);
 
     void verifyAuthor(Post post, User author);
 
     void softDelete(Post post);
 
+    int softDeleteAllByAuthor(User author);
+
+    int softDeleteAllVotesBy(User voter);
+
     int voteUp(Post post, User user);
 
     int voteDown(Post post, User user);
@@ -1,42 +1,163 @@
 package com.blog.blogbackend.services;
 
+import com.blog.blogbackend.caches.PostLeaderboard;
+import com.blog.blogbackend.exceptions.EditConflictException;
 import com.blog.blogbackend.models.DTOs.NewPostDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
 import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.ranking.RankingStrategy;
 import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.search.PostSearchIndex;
+import com.blog.blogbackend.search.SearchHit;
+import com.blog.blogbackend.utils.AfterCommit;
+import com.blog.blogbackend.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PostServiceImpl implements PostService{
 
+    private static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
     private final VoteService voteService;
     private final CommentService commentService;
+    private final Environment environment;
+    private final Map<String, RankingStrategy> rankingStrategies = new HashMap<>();
+    private final PostLeaderboard postLeaderboard;
+    private final PostSearchIndex postSearchIndex;
 
-    public PostServiceImpl(PostRepository postRepository, VoteService voteService, CommentService commentService) {
+    public PostServiceImpl(PostRepository postRepository, VoteService voteService, CommentService commentService,
+                           Environment environment, List<RankingStrategy> rankingStrategies,
+                           PostLeaderboard postLeaderboard, PostSearchIndex postSearchIndex) {
         this.postRepository = postRepository;
         this.voteService = voteService;
         this.commentService = commentService;
+        this.environment = environment;
+        this.postLeaderboard = postLeaderboard;
+        this.postSearchIndex = postSearchIndex;
+        rankingStrategies.forEach(strategy -> this.rankingStrategies.put(strategy.getName(), strategy));
+    }
+
+    @Override
+    public int calculateAllRatings() {
+        return voteService.reconcileRatings();
     }
 
     @Override
-    public void calculateAllRatings() {
-        List<Post> posts = postRepository.findAllByDeletedOrderByRatingDesc(false);
-        posts.forEach(post -> postRepository.save(voteService.calculateRatingForPost(post)));
+    public int calculateAllCommentCounts() {
+        return postRepository.reconcileCommentCounts();
     }
 
     @Override
     public List<Post> getAllPostsOrderedByRating() {
-        calculateAllRatings();
         return postRepository.findAllByDeletedOrderByRatingDesc(false);
     }
 
+    @Override
+    public PostFeedPageDTO getFeedPage(String cursor, Integer requestedPageSize) {
+        int pageSize = resolveFeedPageSize(requestedPageSize);
+        Pageable pageWithLookahead = PageRequest.of(0, pageSize + 1);
+
+        List<PostOverviewDTO> overviews;
+        if(cursor == null) {
+            overviews = postLeaderboard.getTop(pageSize + 1)
+                    .orElseGet(() -> postRepository.findFeedFirstPage(pageWithLookahead));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            overviews = postRepository.findFeedPageAfter(Math.toIntExact(after.getKey()), after.getId(),
+                    pageWithLookahead);
+        }
+
+        if(overviews.size() <= pageSize) {
+            return new PostFeedPageDTO(overviews, null);
+        }
+
+        List<PostOverviewDTO> page = overviews.subList(0, pageSize);
+        PostOverviewDTO last = page.get(pageSize - 1);
+        String nextCursor = new KeysetCursor(last.getRating(), last.getId()).encode();
+
+        return new PostFeedPageDTO(page, nextCursor);
+    }
+
+    private int resolveFeedPageSize(Integer requestedPageSize) {
+        int maxPageSize = environment.getProperty("posts.feed.max-page-size", Integer.class, MAX_FEED_PAGE_SIZE);
+
+        if(requestedPageSize == null) {
+            return Math.min(environment.getProperty("posts.feed.default-page-size", Integer.class,
+                    DEFAULT_FEED_PAGE_SIZE), maxPageSize);
+        }
+        if(requestedPageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+
+        return Math.min(requestedPageSize, maxPageSize);
+    }
+
+    @Override
+    public List<PostOverviewDTO> getRankedPosts(String strategyName, Integer page, Integer requestedPageSize) {
+        RankingStrategy strategy = rankingStrategies.get(strategyName.toLowerCase());
+        if(strategy == null) {
+            throw new IllegalArgumentException("Ranking strategy " + strategyName + " does not exist.");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if(pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative.");
+        }
+
+        return postRepository.findRanked(PageRequest.of(pageNumber, resolveFeedPageSize(requestedPageSize),
+                strategy.getSort()));
+    }
+
+    @Override
+    public List<PostOverviewDTO> searchPosts(String query, Integer requestedPageSize) {
+        if(query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty.");
+        }
+
+        List<SearchHit> hits = postSearchIndex.search(query, resolveFeedPageSize(requestedPageSize));
+        if(hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostOverviewDTO> overviewsById = postRepository
+                .findOverviewsByIds(hits.stream().map(SearchHit::postId).toList()).stream()
+                .collect(Collectors.toMap(PostOverviewDTO::getId, Function.identity()));
+
+        return hits.stream()
+                .map(hit -> overviewsById.get(hit.postId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportFeed(Consumer<PostOverviewDTO> consumer) {
+        try(Stream<PostOverviewDTO> overviews = postRepository.streamFeed()) {
+            overviews.forEach(consumer);
+        }
+    }
+
     @Override
     public List<PostOverviewDTO> convertPostsToOverviews(List<Post> posts) {
         List<PostOverviewDTO> overviews = new ArrayList<>();
@@ -46,9 +167,11 @@ public class PostServiceImpl implements PostService{
 
     @Override
     public Post create(NewPostDTO postData, User author) {
-        Post post = new Post(postData.getTitle(), postData.getContent(), author);
+        Post post = postRepository.save(new Post(postData.getTitle(), postData.getContent(), author));
+        AfterCommit.run(() -> postLeaderboard.onPostCreated(post));
+        AfterCommit.run(() -> postSearchIndex.index(post));
 
-        return postRepository.save(post);
+        return post;
     }
 
     @Override
@@ -57,6 +180,12 @@ public class PostServiceImpl implements PostService{
                 .orElseThrow(() -> new EntityNotFoundException("Post with ID " + id + " does not exist."));
     }
 
+    @Override
+    public PostDetailsDTO getPostDetails(Long id) {
+        return postRepository.findDetailsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post with ID " + id + " does not exist."));
+    }
+
     @Override
     public void verifyAuthor(Post post, User author) {
         if(!post.getAuthor().equals(author)) {
@@ -66,33 +195,78 @@ public class PostServiceImpl implements PostService{
 
     @Override
     public Post update(Post originalPost, NewPostDTO updateData) {
+        String conflictMessage = "Post with ID " + originalPost.getId() + " has been changed by someone else.";
+        if(updateData.getVersion() != null && !updateData.getVersion().equals(originalPost.getVersion())) {
+            throw new EditConflictException(conflictMessage);
+        }
+
         originalPost.setTitle(updateData.getTitle());
         originalPost.setContent(updateData.getContent());
+        Post updatedPost;
+        try {
+            updatedPost = postRepository.save(originalPost);
+        }catch (ObjectOptimisticLockingFailureException e) {
+            throw new EditConflictException(conflictMessage);
+        }
+        AfterCommit.run(() -> postLeaderboard.onPostEdited(updatedPost));
+        AfterCommit.run(() -> postSearchIndex.index(updatedPost));
 
-        return postRepository.save(originalPost);
+        return updatedPost;
     }
 
     @Override
+    @Transactional
     public void softDelete(Post post) {
+        postRepository.softDeleteById(post.getId());
+        commentService.softDeleteAllForPost(post);
+        voteService.softDeleteAllForPost(post);
         post.setDeleted(true);
-        post.getComments().forEach(commentService::softDelete);
-        post.getVotes().forEach(voteService::softDelete);
+        AfterCommit.run(() -> postLeaderboard.onPostDeleted(post.getId()));
+        AfterCommit.run(() -> postSearchIndex.remove(post.getId()));
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAllByAuthor(User author) {
+        List<Long> postIds = postRepository.findIdsByAuthorId(author.getId());
+        if(postIds.isEmpty()) {
+            return 0;
+        }
+
+        commentService.softDeleteAllOnPostsByAuthor(author);
+        voteService.softDeleteAllOnPostsByAuthor(author);
+        int deletedPosts = postRepository.softDeleteAllByAuthorId(author.getId());
+        AfterCommit.run(() -> postIds.forEach(postLeaderboard::onPostDeleted));
+        AfterCommit.run(() -> postIds.forEach(postSearchIndex::remove));
 
-        postRepository.save(post);
+        return deletedPosts;
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAllVotesBy(User voter) {
+        int deletedVotes = voteService.softDeleteAllByUser(voter);
+        if(deletedVotes > 0) {
+            AfterCommit.run(postLeaderboard::reload);
+        }
+
+        return deletedVotes;
     }
 
     @Override
     public int voteUp(Post post, User user) {
-        return postRepository
-                .save(voteService.voteUp(post, user))
-                .getRating();
+        Post ratedPost = voteService.voteUp(post, user);
+        postLeaderboard.onPostRated(ratedPost);
+
+        return ratedPost.getRating();
     }
 
     @Override
     public int voteDown(Post post, User user) {
-        return postRepository
-                .save(voteService.voteDown(post, user))
-                .getRating();
+        Post ratedPost = voteService.voteDown(post, user);
+        postLeaderboard.onPostRated(ratedPost);
+
+        return ratedPost.getRating();
     }
 
 }
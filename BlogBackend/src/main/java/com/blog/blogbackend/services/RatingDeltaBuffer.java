@@ -0,0 +1,151 @@
+package com.blog.blogbackend.services;
+
+import com.blog.blogbackend.repositories.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Applies rating deltas to posts either immediately or, with ratings.write-behind.enabled, by
+ * accumulating them per post in memory and flushing one UPDATE per post every
+ * ratings.write-behind.flush-interval-ms. Accumulation locks only the map bin of the post, so
+ * a viral post no longer makes every vote wait on the same posts row.
+ * <p>
+ * A delta joins the buffer only once the vote's transaction commits, so a rolled-back vote never
+ * reaches posts.rating. Until then the vote holds the read lock, which lets {@link #reconcile()}
+ * wait for in-flight votes, drain the buffer and write through until the recount is done: the
+ * recount then sees every committed vote exactly once. The targeted recount run when a user's
+ * votes are withdrawn drains the buffer the same way.
+ */
+@Component
+public class RatingDeltaBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingDeltaBuffer.class);
+
+    private final PostRepository postRepository;
+    private final boolean writeBehind;
+    private final ConcurrentHashMap<Long, Integer> pendingDeltas = new ConcurrentHashMap<>();
+    private final ReadWriteLock bufferingLock = new ReentrantReadWriteLock();
+    private volatile boolean reconciling = false;
+
+    public RatingDeltaBuffer(PostRepository postRepository, Environment environment) {
+        this.postRepository = postRepository;
+        this.writeBehind = environment.getProperty("ratings.write-behind.enabled", Boolean.class, false);
+    }
+
+    public int apply(Long postId, int delta) {
+        if(writeBehind) {
+            Lock readLock = bufferingLock.readLock();
+            readLock.lock();
+            boolean buffered = false;
+            try {
+                if(!reconciling) {
+                    int rating = postRepository.findRatingById(postId) + getPendingDelta(postId) + delta;
+                    bufferAfterCommit(postId, delta, readLock);
+                    buffered = true;
+                    return rating;
+                }
+            }finally {
+                if(!buffered) {
+                    readLock.unlock();
+                }
+            }
+        }
+
+        postRepository.incrementRating(postId, delta);
+        return postRepository.findRatingById(postId);
+    }
+
+    private void bufferAfterCommit(Long postId, int delta, Lock readLock) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingDeltas.merge(postId, delta, Integer::sum);
+            readLock.unlock();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingDeltas.merge(postId, delta, Integer::sum);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                readLock.unlock();
+            }
+        });
+    }
+
+    public int reconcile() {
+        return drainAndRecount(postRepository::reconcileRatings);
+    }
+
+    public int recountRatingsOnPostsVotedBy(Long userId) {
+        return drainAndRecount(() -> postRepository.recountRatingsOnPostsVotedBy(userId));
+    }
+
+    private synchronized int drainAndRecount(IntSupplier recount) {
+        bufferingLock.writeLock().lock();
+        try {
+            reconciling = true;
+            flush();
+
+            if(!pendingDeltas.isEmpty()) {
+                logger.warn("Dropping unflushed rating deltas for {} post(s); the recount covers them.",
+                        pendingDeltas.size());
+                pendingDeltas.clear();
+            }
+        }finally {
+            bufferingLock.writeLock().unlock();
+        }
+
+        try {
+            return recount.getAsInt();
+        }finally {
+            reconciling = false;
+        }
+    }
+
+    public int getPendingDelta(Long postId) {
+        return pendingDeltas.getOrDefault(postId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${ratings.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        for(Long postId : pendingDeltas.keySet()) {
+            Integer delta = pendingDeltas.remove(postId);
+
+            if(delta == null || delta == 0) {
+                continue;
+            }
+
+            try {
+                postRepository.incrementRating(postId, delta);
+            }catch (RuntimeException e) {
+                pendingDeltas.merge(postId, delta, Integer::sum);
+                logger.warn("Could not flush rating delta {} for post {}, will retry.", delta, postId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+
+        if(!pendingDeltas.isEmpty()) {
+            logger.error("Shutting down with unflushed rating deltas for {} post(s); " +
+                    "the reconciliation job will repair them.", pendingDeltas.size());
+        }
+    }
+}
@@ -7,5 +7,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 public interface UserService extends UserDetailsService {
     User create(NewUserDTO userData) throws Exception;
 
+    boolean isUsernameAvailable(String username);
+
     void softDelete(User user);
 }
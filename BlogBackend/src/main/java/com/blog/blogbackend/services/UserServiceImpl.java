@@ -1,40 +1,72 @@
 package com.blog.blogbackend.services;
 
+import com.blog.blogbackend.caches.UserStatusCache;
+import com.blog.blogbackend.caches.UsernameBloomFilter;
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
 import com.blog.blogbackend.models.DTOs.NewUserDTO;
 import com.blog.blogbackend.models.Role;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.repositories.UserRepository;
+import com.blog.blogbackend.utils.AfterCommit;
 import jakarta.persistence.EntityExistsException;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserStatusCache userStatusCache;
+    private final UserCache userCache;
+    private final PostService postService;
+    private final CommentService commentService;
+    private final UsernameBloomFilter usernameBloomFilter;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           UserStatusCache userStatusCache, UserCache userCache,
+                           PostService postService, CommentService commentService,
+                           UsernameBloomFilter usernameBloomFilter) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userStatusCache = userStatusCache;
+        this.userCache = userCache;
+        this.postService = postService;
+        this.commentService = commentService;
+        this.usernameBloomFilter = usernameBloomFilter;
     }
 
     @Override
     public User create(NewUserDTO userData) throws Exception {
         String username = userData.getUsername();
+        if(!isUsernameAvailable(username)) {
+            throw new EntityExistsException("Username " + username + " is already taken.");
+        }
 
         try {
             String password = passwordEncoder.encode(userData.getPassword());
             User newUser = new User(username, password);
             newUser.setRole(Role.ROLE_USER);
 
-            return userRepository.save(newUser);
+            User savedUser = userRepository.save(newUser);
+            usernameBloomFilter.put(username);
+
+            return savedUser;
+        }catch (PasswordHashingSaturatedException e) {
+            throw e;
         }catch (Exception e) {
             throw new EntityExistsException("Username " + username + " is already taken.");
         }
     }
 
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return !usernameBloomFilter.mightContain(username) || !userRepository.existsByUsername(username);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findUserByUsernameAndDeleted(username, false)
@@ -42,8 +74,21 @@ public class UserServiceImpl implements UserService{
     }
 
     @Override
+    @Transactional
     public void softDelete(User user) {
+        postService.softDeleteAllByAuthor(user);
+        commentService.softDeleteAllByAuthor(user);
+        postService.softDeleteAllVotesBy(user);
+        userRepository.softDeleteById(user.getId());
         user.setDeleted(true);
-        userRepository.save(user);
+        evictFromCaches(user);
+    }
+
+    // After commit: evicting earlier lets a concurrent request re-cache the still-active user for a full TTL.
+    private void evictFromCaches(User user) {
+        AfterCommit.run(() -> {
+            userStatusCache.evict(user.getId());
+            userCache.removeUserFromCache(user.getUsername());
+        });
     }
 }
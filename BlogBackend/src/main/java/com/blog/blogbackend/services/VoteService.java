@@ -4,12 +4,24 @@ import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.models.Vote;
 
+import java.util.List;
+
 public interface VoteService {
     Post calculateRatingForPost(Post post);
 
+    List<Vote> getVotesForPost(Post post);
+
     void softDelete(Vote vote);
 
+    int softDeleteAllForPost(Post post);
+
+    int softDeleteAllOnPostsByAuthor(User author);
+
+    int softDeleteAllByUser(User voter);
+
     Post voteUp(Post post, User votingUser);
 
     Post voteDown(Post post, User votingUser);
+
+    int reconcileRatings();
 }
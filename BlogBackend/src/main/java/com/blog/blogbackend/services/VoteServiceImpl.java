@@ -6,14 +6,19 @@ import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.models.Vote;
 import com.blog.blogbackend.repositories.VoteRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 public class VoteServiceImpl implements VoteService{
 
     private final VoteRepository voteRepository;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
 
-    public VoteServiceImpl(VoteRepository voteRepository) {
+    public VoteServiceImpl(VoteRepository voteRepository, RatingDeltaBuffer ratingDeltaBuffer) {
         this.voteRepository = voteRepository;
+        this.ratingDeltaBuffer = ratingDeltaBuffer;
     }
 
     @Override
@@ -23,6 +28,11 @@ public class VoteServiceImpl implements VoteService{
         return post;
     }
 
+    @Override
+    public List<Vote> getVotesForPost(Post post) {
+        return voteRepository.findAllByPostAndDeleted(post, false);
+    }
+
     @Override
     public void softDelete(Vote vote) {
         vote.setDeleted(true);
@@ -30,28 +40,65 @@ public class VoteServiceImpl implements VoteService{
     }
 
     @Override
-    public Post voteUp(Post post, User votingUser) {
-        Vote vote = voteRepository.findByUserAndPost(votingUser, post).orElse(new Vote(votingUser, post));
-
-        try {
-            vote.setVoteValue(vote.getVoteValue() + 1);
-            voteRepository.save(vote);
-            return calculateRatingForPost(post);
-        }catch (Exception e){
-            throw new IllegalVoteException("You have already upvoted this post.");
+    public int softDeleteAllForPost(Post post) {
+        return voteRepository.softDeleteAllByPostId(post.getId());
+    }
+
+    @Override
+    public int softDeleteAllOnPostsByAuthor(User author) {
+        return voteRepository.softDeleteAllOnPostsByAuthorId(author.getId());
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAllByUser(User voter) {
+        int deletedVotes = voteRepository.softDeleteAllByUserId(voter.getId());
+        if(deletedVotes > 0) {
+            ratingDeltaBuffer.recountRatingsOnPostsVotedBy(voter.getId());
         }
+
+        return deletedVotes;
     }
 
     @Override
+    @Transactional
+    public Post voteUp(Post post, User votingUser) {
+        return applyVote(post, votingUser, 1, "You have already upvoted this post.");
+    }
+
+    @Override
+    @Transactional
     public Post voteDown(Post post, User votingUser) {
-        Vote vote = voteRepository.findByUserAndPost(votingUser, post).orElse(new Vote(votingUser, post));
-
-        try {
-            vote.setVoteValue(vote.getVoteValue() - 1);
-            voteRepository.save(vote);
-            return calculateRatingForPost(post);
-        }catch (Exception e){
-            throw new IllegalVoteException("You have already downvoted this post.");
+        return applyVote(post, votingUser, -1, "You have already downvoted this post.");
+    }
+
+    @Override
+    public int reconcileRatings() {
+        return ratingDeltaBuffer.reconcile();
+    }
+
+    private Post applyVote(Post post, User votingUser, int delta, String rejectionMessage) {
+        int appliedDelta = applyVoteDelta(post, votingUser, delta, rejectionMessage);
+        post.setRating(ratingDeltaBuffer.apply(post.getId(), appliedDelta));
+        return post;
+    }
+
+    /*
+     * A first vote is a single INSERT. When the row already exists - including one a concurrent
+     * first vote inserted a moment ago - only that duplicate-key error is absorbed, the
+     * transaction stays usable and the conditional UPDATE applies the delta.
+     * The range check lives in that UPDATE's WHERE clause, so the row lock serializes
+     * concurrent clicks and only a vote already at its limit is rejected.
+     */
+    private int applyVoteDelta(Post post, User votingUser, int delta, String rejectionMessage) {
+        if(voteRepository.insertVoteIfAbsent(votingUser.getId(), post.getId(), delta) == 1) {
+            return delta;
         }
+
+        if(voteRepository.applyVoteDelta(votingUser.getId(), post.getId(), delta) == 1) {
+            return delta;
+        }
+
+        throw new IllegalVoteException(rejectionMessage);
     }
 }
@@ -0,0 +1,44 @@
+package com.blog.blogbackend.utils;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the highest BCrypt strength whose hash still completes within a target latency on
+ * the current machine. Each strength step doubles the work and the search only stops after
+ * hashing at the first strength that overshoots, which alone can take up to twice the target;
+ * with the cheaper steps before it, startup spends roughly three to four times the target.
+ * Instances on different hardware can settle on different strengths, so fleets should pin
+ * auth.password-hashing.bcrypt-strength instead.
+ */
+public class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode(SAMPLE_PASSWORD);
+
+        return calibrate(targetMillis, minStrength, maxStrength, strength -> {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            return System.nanoTime() - start;
+        });
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength, IntToLongFunction hashNanos) {
+        long targetNanos = targetMillis * 1_000_000;
+
+        for(int strength = minStrength; strength <= maxStrength; strength++) {
+            if(hashNanos.applyAsLong(strength) > targetNanos) {
+                return Math.max(minStrength, strength - 1);
+            }
+        }
+
+        return maxStrength;
+    }
+}
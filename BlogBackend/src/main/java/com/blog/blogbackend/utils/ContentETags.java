@@ -0,0 +1,91 @@
+package com.blog.blogbackend.utils;
+
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETags derived only from persisted columns, so every instance (and any cache in front of
+ * them) computes the same tag for the same data. Post details use the @Version column plus
+ * the counters that change without bumping it; listings hash the rows they return.
+ * Edits are guarded by the version alone, read back from an If-Match header by
+ * {@link #matchesPostVersion} and {@link #matchesCommentVersion}, so a vote between GET and PATCH
+ * is not a conflict. If-Match uses strong comparison, so weak tags never match.
+ */
+public final class ContentETags {
+
+    private ContentETags() {}
+
+    public static String forPost(PostDetailsDTO post) {
+        return "\"post-" + post.getId() + "-" + post.getVersion() + "-" + post.getRating() + "-"
+                + post.getNumberOfComments() + "\"";
+    }
+
+    public static String forComment(CommentDTO comment) {
+        return "\"comment-" + comment.getId() + "-" + comment.getVersion() + "\"";
+    }
+
+    public static boolean matchesPostVersion(String ifMatch, Long postId, Long version) {
+        return matchesVersion(ifMatch, "post-" + postId + "-", version);
+    }
+
+    public static boolean matchesCommentVersion(String ifMatch, Long commentId, Long version) {
+        return matchesVersion(ifMatch, "comment-" + commentId + "-", version);
+    }
+
+    private static boolean matchesVersion(String ifMatch, String resourcePrefix, Long version) {
+        if(ifMatch.trim().equals("*")) {
+            return true;
+        }
+
+        for(String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if(tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+
+            String opaqueTag = tag.substring(1, tag.length() - 1);
+            if(!opaqueTag.startsWith(resourcePrefix)) {
+                continue;
+            }
+
+            String versionPart = opaqueTag.substring(resourcePrefix.length()).split("-", 2)[0];
+            if(versionPart.equals(String.valueOf(version))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static String forFeedPage(PostFeedPageDTO page) {
+        StringBuilder state = new StringBuilder();
+        for(PostOverviewDTO post : page.getPosts()) {
+            state.append(post.getId()).append(':').append(post.getRating()).append(':')
+                    .append(post.getNumberOfComments()).append(':').append(post.getTitle()).append(':')
+                    .append(post.getContent()).append('\n');
+        }
+        state.append(page.getNextCursor());
+
+        return "\"feed-" + digest(state) + "\"";
+    }
+
+    public static String forCommentPage(Long postId, CommentPageDTO page) {
+        StringBuilder state = new StringBuilder();
+        for(CommentDTO comment : page.getComments()) {
+            state.append(comment.getId()).append(':').append(comment.getVersion()).append('\n');
+        }
+        state.append(page.getNextCursor());
+
+        return "\"comments-" + postId + "-" + digest(state) + "\"";
+    }
+
+    private static String digest(CharSequence state) {
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package com.blog.blogbackend.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, least-recently-used map whose entries expire a fixed time after being written.
+ * Loaders run outside the lock, so a slow lookup never blocks readers of other keys.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpiringLruCache(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    public ExpiringLruCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+        if(maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1.");
+        }
+
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+
+        if(entry == null) {
+            misses.increment();
+            return null;
+        }
+        if(nanoClock.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.value;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = get(key);
+
+        if(cached != null) {
+            return cached;
+        }
+
+        V loaded = loader.apply(key);
+        if(loaded != null) {
+            put(key, loaded);
+        }
+
+        return loaded;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new CacheEntry<>(value, nanoClock.getAsLong() + timeToLiveNanos));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.blogbackend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a list ordered by (sort key, id). Clients only ever echo back
+ * the encoded form they received as "nextCursor".
+ */
+public class KeysetCursor {
+
+    private final long key;
+    private final long id;
+
+    public KeysetCursor(long key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+
+            return new KeysetCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        }catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor " + encoded + " is not valid.");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+CREATE TABLE users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    role VARCHAR(32),
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE posts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    content VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    rating INT DEFAULT 0 NOT NULL,
+    author_id BIGINT,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    CONSTRAINT uk_posts_title UNIQUE (title),
+    CONSTRAINT fk_posts_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE comments (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    author_id BIGINT,
+    post_id BIGINT,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    CONSTRAINT fk_comments_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT fk_comments_post FOREIGN KEY (post_id) REFERENCES posts (id)
+);
+
+CREATE TABLE post_votes (
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    vote_value INT DEFAULT 0 NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    PRIMARY KEY (user_id, post_id),
+    CONSTRAINT chk_post_votes_value CHECK (vote_value BETWEEN -1 AND 1),
+    CONSTRAINT fk_post_votes_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_post_votes_post FOREIGN KEY (post_id) REFERENCES posts (id)
+);
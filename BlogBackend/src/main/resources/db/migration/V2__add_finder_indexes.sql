@@ -0,0 +1,11 @@
+-- UserRepository.findUserByUsernameAndDeleted
+CREATE INDEX idx_users_username_deleted ON users (username, deleted);
+
+-- CommentRepository.findAllByPostAndDeleted
+CREATE INDEX idx_comments_post_deleted_created ON comments (post_id, deleted, created_at);
+
+-- CommentRepository.findAllByDeletedOrderByCreatedAtDesc
+CREATE INDEX idx_comments_deleted_created ON comments (deleted, created_at);
+
+-- VoteRepository.getRatingForPost and PostRepository.reconcileRatings; (user_id, post_id) lookups use the primary key
+CREATE INDEX idx_post_votes_post_value ON post_votes (post_id, vote_value);
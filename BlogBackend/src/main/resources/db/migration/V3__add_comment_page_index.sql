@@ -0,0 +1,4 @@
+-- CommentRepository.findPageForPost and findPageForPostAfter walk (created_at, id) within one post
+CREATE INDEX idx_comments_post_deleted_created_id ON comments (post_id, deleted, created_at, id);
+
+DROP INDEX idx_comments_post_deleted_created ON comments;
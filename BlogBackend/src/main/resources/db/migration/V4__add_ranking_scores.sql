@@ -0,0 +1,10 @@
+ALTER TABLE posts ADD COLUMN hot_score DOUBLE DEFAULT 0 NOT NULL;
+
+ALTER TABLE posts ADD COLUMN controversy_score DOUBLE DEFAULT 0 NOT NULL;
+
+-- PostRepository.findRanked, one index per RankingStrategy sort
+CREATE INDEX idx_posts_deleted_hot_id ON posts (deleted, hot_score, id);
+
+CREATE INDEX idx_posts_deleted_controversy_id ON posts (deleted, controversy_score, id);
+
+CREATE INDEX idx_posts_deleted_created_id ON posts (deleted, created_at, id);
@@ -0,0 +1,4 @@
+-- Optimistic locking for Post and Comment edits (@Version)
+ALTER TABLE posts ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE comments ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,7 @@
+-- Denormalized comment counter, backfilled for schemas that predate it
+ALTER TABLE posts ADD COLUMN comment_count INT DEFAULT 0 NOT NULL;
+
+UPDATE posts SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id AND c.deleted = FALSE);
+
+-- PostRepository.findFeedFirstPage and findFeedPageAfter walk (rating, id) among non-deleted posts
+CREATE INDEX idx_posts_deleted_rating_id ON posts (deleted, rating, id);
@@ -0,0 +1,4 @@
+-- Set by PostRepository.incrementRating; the controversy refresh only rescores recently rated posts
+ALTER TABLE posts ADD COLUMN rated_at DATETIME(6);
+
+CREATE INDEX idx_posts_rated_at ON posts (rated_at);
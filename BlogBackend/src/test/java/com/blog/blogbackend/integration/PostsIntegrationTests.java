@@ -1,5 +1,6 @@
 package com.blog.blogbackend.integration;
 
+import com.blog.blogbackend.jobs.PostRankingJob;
 import com.blog.blogbackend.models.DTOs.NewPostDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.Role;
@@ -8,6 +9,7 @@ import com.blog.blogbackend.models.Vote;
 import com.blog.blogbackend.repositories.PostRepository;
 import com.blog.blogbackend.repositories.UserRepository;
 import com.blog.blogbackend.repositories.VoteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,12 +19,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,6 +53,8 @@ public class PostsIntegrationTests {
     private VoteRepository voteRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PostRankingJob postRankingJob;
 
     @BeforeEach
     public void setUp() {
@@ -100,8 +113,131 @@ public class PostsIntegrationTests {
                 .andExpect(jsonPath("$.posts").exists())
                 .andExpect(jsonPath("$.posts[0].title").exists())
                 .andExpect(jsonPath("$.posts[0].content").exists())
-                .andExpect(jsonPath("$.posts[0].author").exists());
+                .andExpect(jsonPath("$.posts[0].author").exists())
+                .andExpect(jsonPath("$.posts[0].author.username").value("postsIntTest"))
+                .andExpect(jsonPath("$.posts[0].author.password").doesNotExist())
+                .andExpect(jsonPath("$.posts[0].author.authorities").doesNotExist());
+
+    }
+
+    @Test
+    public void GETpostsLoadsAuthorsInTheSameQueryAsPosts() throws Exception {
+        mockAuthenticationContext(prepareUser());
+        for(int i = 0; i < 3; i++) {
+            User author = new User("postsIntTestAuthor" + i, "password");
+            author.setRole(Role.ROLE_USER);
+            postRepository.save(new Post("postsIntTestAuthored" + i, "authored content", userRepository.save(author)));
+        }
+        SqlStatementRecorder.clear();
+
+        mockMvc.perform(
+                        get("/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(3));
+
+        assertEquals(1, SqlStatementRecorder.getStatements().size());
+    }
+
+    @Test
+    public void GETpostsFollowsCursorsThroughAllPagesWithoutDuplicates() throws Exception {
+        User user = prepareUser();
+        mockAuthenticationContext(user);
+        for(int i = 0; i < 5; i++) {
+            postRepository.save(new Post("postsIntTestPage" + i, "paged content", user));
+        }
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            MvcResult result = mockMvc.perform(
+                            cursor == null ? get("/posts").param("size", "2")
+                                    : get("/posts").param("size", "2").param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode body = om.readTree(result.getResponse().getContentAsString());
+            body.get("posts").forEach(post -> titles.add(post.get("title").asText()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+            pages++;
+        } while(cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("postsIntTestPage4", "postsIntTestPage3", "postsIntTestPage2",
+                "postsIntTestPage1", "postsIntTestPage0"), titles);
+    }
+
+    @Test
+    public void GETrankedPostsOrdersByPrecomputedScores() throws Exception {
+        User user = prepareUser();
+        mockAuthenticationContext(user);
+        User otherUser = new User("postsIntTestVoter", "password");
+        otherUser.setRole(Role.ROLE_USER);
+        otherUser = userRepository.save(otherUser);
+
+        Post oldPopular = new Post("postsIntTestOldPopular", "old content", user);
+        oldPopular.setCreatedAt(new Date(System.currentTimeMillis() - 48L * 3600 * 1000));
+        oldPopular.setRating(10);
+        oldPopular.setHotScore(100);
+        oldPopular = postRepository.save(oldPopular);
+        Post freshDivisive = new Post("postsIntTestFreshDivisive", "fresh content", user);
+        freshDivisive.setRating(3);
+        freshDivisive = postRepository.save(freshDivisive);
+        Vote upvote = new Vote(user, freshDivisive);
+        upvote.setVoteValue(1);
+        voteRepository.save(upvote);
+        Vote downvote = new Vote(otherUser, freshDivisive);
+        downvote.setVoteValue(-1);
+        voteRepository.save(downvote);
+        postRepository.incrementRating(freshDivisive.getId(), 0);
+
+        postRankingJob.refreshScores();
+
+        mockMvc.perform(
+                        get("/posts/ranked").param("strategy", "top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value("postsIntTestOldPopular"));
+        mockMvc.perform(
+                        get("/posts/ranked").param("strategy", "hot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value("postsIntTestFreshDivisive"));
+        mockMvc.perform(
+                        get("/posts/ranked").param("strategy", "controversial"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value("postsIntTestFreshDivisive"));
+    }
+
+    @Test
+    public void GETrankedPostsWithUnknownStrategy() throws Exception {
+        mockAuthenticationContext(prepareUser());
 
+        mockMvc.perform(
+                        get("/posts/ranked").param("strategy", "random"))
+                .andExpect(status().is(401))
+                .andExpect(jsonPath("$.error").value("Ranking strategy random does not exist."));
+    }
+
+    @Test
+    public void GETpostsExportStreamsAllPostsAsJsonArray() throws Exception {
+        User user = prepareUser();
+        mockAuthenticationContext(user);
+        for(int i = 0; i < 30; i++) {
+            postRepository.save(new Post("postsIntTestExport" + i, "exported content", user));
+        }
+
+        MvcResult started = mockMvc.perform(
+                        get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode body = om.readTree(result.getResponse().getContentAsString());
+
+        assertTrue(body.isArray());
+        assertEquals(30, body.size());
+        assertEquals("postsIntTestExport29", body.get(0).get("title").asText());
+        assertEquals("postsIntTest", body.get(0).get("author").get("username").asText());
     }
 
     @Test
@@ -124,8 +260,67 @@ public class PostsIntegrationTests {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.title").value(post.getTitle()))
                 .andExpect(jsonPath("$.content").exists())
-                .andExpect(jsonPath("$.content").value(post.getContent()));
+                .andExpect(jsonPath("$.content").value(post.getContent()))
+                .andExpect(jsonPath("$.author.username").value("postsIntTest"))
+                .andExpect(jsonPath("$.comments").doesNotExist());
+
+    }
+
+    @Test
+    public void GETpostsWithExistingIdExecutesSameStatementsRegardlessOfNumberOfPosts() throws Exception {
+        preparePosts();
+        User user = prepareUser();
+        mockAuthenticationContext(user);
+        Long id = postRepository.findByTitleAndDeleted("postsIntTest1", false).get().getId();
 
+        int statementsWithTwoPosts = countStatementsForPostDetails(id);
+
+        for(int i = 0; i < 20; i++) {
+            postRepository.save(new Post("postsIntTestBulk" + i, "bulk content", user));
+        }
+
+        int statementsWithManyPosts = countStatementsForPostDetails(id);
+        List<String> statements = SqlStatementRecorder.getStatements();
+
+        assertEquals(statementsWithTwoPosts, statementsWithManyPosts);
+        assertEquals(1, statementsWithManyPosts);
+        assertTrue(statements.stream().noneMatch(sql -> sql.trim().toLowerCase().startsWith("update")));
+    }
+
+    private int countStatementsForPostDetails(Long id) throws Exception {
+        SqlStatementRecorder.clear();
+
+        mockMvc.perform(
+                        get("/posts/" + id))
+                .andExpect(status().isOk());
+
+        return SqlStatementRecorder.getStatements().size();
+    }
+
+    @Test
+    public void GETpostsWithExistingIdAnswersNotModifiedUntilPostChanges() throws Exception {
+        preparePosts();
+        mockAuthenticationContext(prepareUser());
+        Long id = postRepository.findByTitleAndDeleted("postsIntTest1", false).get().getId();
+
+        String eTag = mockMvc.perform(
+                        get("/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(
+                        get("/posts/" + id).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(
+                        patch("/posts/" + id + "/vote-up"))
+                .andExpect(status().isOk());
+        mockMvc.perform(
+                        get("/posts/" + id).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(1));
     }
 
     @Test
@@ -156,7 +351,35 @@ public class PostsIntegrationTests {
                 .andExpect(jsonPath("$.content").exists())
                 .andExpect(jsonPath("$.content").value(newPostData.getContent()))
                 .andExpect(jsonPath("$.author").exists())
-                .andExpect(jsonPath("$.author.username").value(user.getUsername()));
+                .andExpect(jsonPath("$.author.username").value(user.getUsername()))
+                .andExpect(jsonPath("$.author.password").doesNotExist());
+    }
+
+    @Test
+    public void GETsearchPostsRanksMatchesFromIndexAndDropsDeletedPosts() throws Exception {
+        mockAuthenticationContext(prepareUser());
+        List<Long> ids = new ArrayList<>();
+        for(NewPostDTO newPost : List.of(
+                new NewPostDTO("postsIntTestSearch caffeine", "Tuning caffeine caches"),
+                new NewPostDTO("postsIntTestSearch plain", "Caches without the word"),
+                new NewPostDTO("postsIntTestSearch removed", "Caffeine notes, soon deleted"))) {
+            MvcResult result = mockMvc.perform(post("/posts")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(newPost)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.add(om.readTree(result.getResponse().getContentAsString()).get("id").asLong());
+        }
+        mockMvc.perform(delete("/posts/" + ids.get(2)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/posts/search").param("q", "Caffeine"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].id").value(ids.get(0)));
+        mockMvc.perform(get("/posts/search").param("q", "caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(2));
     }
 
     @Test
@@ -232,6 +455,81 @@ public class PostsIntegrationTests {
                 .andExpect(jsonPath("$.content").value("update content"));
     }
 
+    @Test
+    public void PATCHpostsBumpsVersionAndRejectsStaleOverwrite() throws Exception {
+        preparePosts();
+        mockAuthenticationContext(prepareUser());
+        Post stale = postRepository.findAllByDeletedOrderByRatingDesc(false).get(0);
+        Long id = stale.getId();
+
+        mockMvc.perform(
+                patch("/posts/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new NewPostDTO("Update title", "update content"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(stale.getVersion() + 1));
+
+        mockMvc.perform(patch("/posts/" + id + "/vote-up"))
+                .andExpect(status().isOk());
+        assertEquals(stale.getVersion() + 1, postRepository.findById(id).orElseThrow().getVersion());
+
+        stale.setContent("stale content");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> postRepository.save(stale));
+        assertEquals("update content", postRepository.findById(id).orElseThrow().getContent());
+    }
+
+    @Test
+    public void PATCHpostsWithStaleVersionAnswersConflict() throws Exception {
+        preparePosts();
+        mockAuthenticationContext(prepareUser());
+        Post post = postRepository.findAllByDeletedOrderByRatingDesc(false).get(0);
+        Long id = post.getId();
+
+        mockMvc.perform(
+                patch("/posts/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new NewPostDTO("First title", "first content",
+                                post.getVersion()))))
+                .andExpect(status().isOk());
+        mockMvc.perform(
+                patch("/posts/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new NewPostDTO("Second title", "second content",
+                                post.getVersion()))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Post with ID " + id + " has been changed by someone else."));
+
+        assertEquals("first content", postRepository.findById(id).orElseThrow().getContent());
+    }
+
+    @Test
+    public void PATCHpostsWithStaleIfMatchAnswersPreconditionFailed() throws Exception {
+        preparePosts();
+        mockAuthenticationContext(prepareUser());
+        Long id = postRepository.findByTitleAndDeleted("postsIntTest1", false).get().getId();
+        String eTag = mockMvc.perform(
+                        get("/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/posts/" + id + "/vote-up"))
+                .andExpect(status().isOk());
+        mockMvc.perform(
+                patch("/posts/" + id)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new NewPostDTO("First title", "first content"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(
+                patch("/posts/" + id)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new NewPostDTO("Second title", "second content"))))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("first content", postRepository.findById(id).orElseThrow().getContent());
+    }
+
     @Test
     public void PATCHpostsWithExistingIdAndMissingTitle() throws Exception {
         preparePosts();
@@ -318,6 +616,31 @@ public class PostsIntegrationTests {
                         + " has been successfully deleted."));
     }
 
+    @Test
+    public void DELETEpostsFlagsAllVotesOfPostWithOneStatement() throws Exception {
+        preparePosts();
+        mockAuthenticationContext(prepareUser());
+        Post post = postRepository.findAllByDeletedOrderByRatingDesc(false).get(0);
+        for(int i = 0; i < 5; i++) {
+            User voter = new User("postsIntTestBulkVoter" + i, "password");
+            voter.setRole(Role.ROLE_USER);
+            Vote vote = new Vote(userRepository.save(voter), post);
+            vote.setVoteValue(1);
+            voteRepository.save(vote);
+        }
+        SqlStatementRecorder.clear();
+
+        mockMvc.perform(delete("/posts/" + post.getId()))
+                .andExpect(status().isOk());
+
+        long voteUpdates = SqlStatementRecorder.getStatements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("update post_votes"))
+                .count();
+        assertEquals(1, voteUpdates);
+        assertTrue(voteRepository.findAllByPostAndDeleted(post, false).isEmpty());
+        assertEquals(5, voteRepository.findAllByPostAndDeleted(post, true).size());
+    }
+
     @Test
     public void DELETEpostsWithExistingIdAndNotByAuthor() throws Exception {
         preparePosts();
@@ -371,7 +694,8 @@ public class PostsIntegrationTests {
         Vote vote = new Vote(user, post);
         vote.setVoteValue(-1);
         voteRepository.save(vote);
-        Long id = postRepository.save(post).getId();
+        postRepository.reconcileRatings();
+        Long id = post.getId();
 
         mockMvc.perform(
                         patch("/posts/" + id + "/vote-up"))
@@ -389,7 +713,8 @@ public class PostsIntegrationTests {
         Vote vote = new Vote(user, post);
         vote.setVoteValue(1);
         voteRepository.save(vote);
-        Long id = postRepository.save(post).getId();
+        postRepository.reconcileRatings();
+        Long id = post.getId();
 
         mockMvc.perform(
                         patch("/posts/" + id + "/vote-up"))
@@ -436,7 +761,8 @@ public class PostsIntegrationTests {
         Vote vote = new Vote(user, post);
         vote.setVoteValue(1);
         voteRepository.save(vote);
-        Long id = postRepository.save(post).getId();
+        postRepository.reconcileRatings();
+        Long id = post.getId();
 
         mockMvc.perform(
                         patch("/posts/" + id + "/vote-down"))
@@ -454,7 +780,8 @@ public class PostsIntegrationTests {
         Vote vote = new Vote(user, post);
         vote.setVoteValue(-1);
         voteRepository.save(vote);
-        Long id = postRepository.save(post).getId();
+        postRepository.reconcileRatings();
+        Long id = post.getId();
 
         mockMvc.perform(
                         patch("/posts/" + id + "/vote-down"))
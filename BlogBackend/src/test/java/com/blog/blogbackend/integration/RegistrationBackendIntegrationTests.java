@@ -15,6 +15,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -60,6 +61,23 @@ class RegistrationBackendIntegrationTests {
                 .andExpect(jsonPath("$.message", is("User johnunique successfully created.")));
     }
 
+    @Test
+    public void GETavailabilityReportsRegisteredUsernameAsTaken() throws Exception {
+        mockMvc.perform(
+                        post("/user/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(new NewUserDTO("johnavailability", "password123"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/user/register/availability").param("username", "johnavailability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available", is(false)));
+        mockMvc.perform(get("/user/register/availability").param("username", "johnstillfree"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("johnstillfree")))
+                .andExpect(jsonPath("$.available", is(true)));
+    }
+
     @Test
     public void POSTregisterWithMissingUsername() throws Exception {
         NewUserDTO newUserData = new NewUserDTO();
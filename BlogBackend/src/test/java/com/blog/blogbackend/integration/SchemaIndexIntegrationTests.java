@@ -0,0 +1,78 @@
+package com.blog.blogbackend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class SchemaIndexIntegrationTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+    }
+
+    private void assertUsesIndex(String sql, String indexName) {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("tablescan"), plan);
+        assertTrue(plan.contains(indexName), plan);
+    }
+
+    @Test
+    public void testFeedQueryUsesRatingIndex() {
+        assertUsesIndex("SELECT id FROM posts WHERE deleted = FALSE ORDER BY rating DESC, id DESC LIMIT 20",
+                "idx_posts_deleted_rating_id");
+    }
+
+    @Test
+    public void testFeedPageAfterCursorUsesRatingIndex() {
+        assertUsesIndex("SELECT id FROM posts WHERE deleted = FALSE AND (rating < 5 OR (rating = 5 AND id < 10)) " +
+                "ORDER BY rating DESC, id DESC LIMIT 20", "idx_posts_deleted_rating_id");
+    }
+
+    @Test
+    public void testCommentsOfPostUsePostIndex() {
+        assertUsesIndex("SELECT id FROM comments WHERE post_id = 1 AND deleted = FALSE",
+                "idx_comments_post_deleted_created_id");
+    }
+
+    @Test
+    public void testCommentPageAfterCursorUsesPostIndex() {
+        assertUsesIndex("SELECT id FROM comments WHERE post_id = 1 AND deleted = FALSE " +
+                "AND (created_at > TIMESTAMP '2024-01-01 00:00:00' " +
+                "OR (created_at = TIMESTAMP '2024-01-01 00:00:00' AND id > 10)) " +
+                "ORDER BY created_at ASC, id ASC LIMIT 20", "idx_comments_post_deleted_created_id");
+    }
+
+    @Test
+    public void testRecentCommentsUseCreatedAtIndex() {
+        assertUsesIndex("SELECT id FROM comments WHERE deleted = FALSE ORDER BY created_at DESC",
+                "idx_comments_deleted_created");
+    }
+
+    @Test
+    public void testVoteLookupUsesPrimaryKey() {
+        assertFalse(explain("SELECT vote_value FROM post_votes WHERE user_id = 1 AND post_id = 1")
+                .contains("tablescan"));
+    }
+
+    @Test
+    public void testRatingSumUsesPostVotesIndex() {
+        assertUsesIndex("SELECT COALESCE(SUM(vote_value), 0) FROM post_votes WHERE post_id = 1",
+                "idx_post_votes_post_value");
+    }
+
+    @Test
+    public void testUserLookupDoesNotScan() {
+        assertFalse(explain("SELECT id FROM users WHERE username = 'user' AND deleted = FALSE")
+                .contains("tablescan"));
+    }
+}
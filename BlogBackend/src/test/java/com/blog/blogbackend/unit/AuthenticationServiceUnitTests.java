@@ -16,6 +16,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 
@@ -23,6 +25,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -36,6 +44,8 @@ public class AuthenticationServiceUnitTests {
     private JwtService jwtService;
     @Mock
     private AuthenticationManager authManager;
+    @Mock
+    private UserCache userCache;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -43,7 +53,8 @@ public class AuthenticationServiceUnitTests {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        authenticationService = new AuthServiceImpl(userRepository, authManager, jwtService);
+        authenticationService = new AuthServiceImpl(userRepository, authManager, jwtService, passwordEncoder,
+                userCache);
     }
 
     @Test
@@ -72,7 +83,34 @@ public class AuthenticationServiceUnitTests {
 
         assertNotNull(response.getToken());
         assertEquals(jwt, response.getToken());
+        verify(userRepository, never()).updatePassword(anyLong(), anyString());
+
+    }
+
+    @Test
+    public void loginRehashesPasswordStoredWithoutEncoderPrefix() {
+        LoginUserDTO request = new LoginUserDTO();
+        request.setUsername("johndoe");
+        request.setPassword("password");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("johndoe");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+
+        when(userRepository.findUserByUsernameAndDeleted("johndoe", false))
+                .thenReturn(Optional.of(user));
+        when(jwtService.generateToken(any(User.class)))
+                .thenReturn("token");
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken("johndoe", "password"));
+
+        authenticationService.loginUser(request);
 
+        verify(userRepository).updatePassword(eq(1L), startsWith("{bcrypt}"));
+        verify(userCache).removeUserFromCache("johndoe");
+        assertTrue(passwordEncoder.matches("password", user.getPassword()));
+        assertFalse(passwordEncoder.upgradeEncoding(user.getPassword()));
     }
 
     @Test
@@ -0,0 +1,47 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.utils.BCryptStrengthCalibrator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BCryptStrengthCalibratorUnitTests {
+
+    // Simulated machine where strength 10 takes 60 ms and every further step doubles it.
+    private static long simulatedNanos(int strength) {
+        return 60_000_000L << (strength - 10);
+    }
+
+    @Test
+    public void calibratePicksHighestStrengthWithinTarget() {
+        assertEquals(12, BCryptStrengthCalibrator.calibrate(250, 10, 16,
+                BCryptStrengthCalibratorUnitTests::simulatedNanos));
+    }
+
+    @Test
+    public void calibrateStopsMeasuringAfterFirstOvershoot() {
+        List<Integer> measured = new ArrayList<>();
+
+        BCryptStrengthCalibrator.calibrate(250, 10, 16, strength -> {
+            measured.add(strength);
+            return simulatedNanos(strength);
+        });
+
+        assertEquals(List.of(10, 11, 12, 13), measured);
+    }
+
+    @Test
+    public void calibrateNeverGoesBelowMinimumOnSlowMachines() {
+        assertEquals(10, BCryptStrengthCalibrator.calibrate(10, 10, 16,
+                BCryptStrengthCalibratorUnitTests::simulatedNanos));
+    }
+
+    @Test
+    public void calibrateCapsAtMaximumOnFastMachines() {
+        assertEquals(14, BCryptStrengthCalibrator.calibrate(60_000, 10, 14,
+                BCryptStrengthCalibratorUnitTests::simulatedNanos));
+    }
+}
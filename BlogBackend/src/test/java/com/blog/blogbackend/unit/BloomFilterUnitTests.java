@@ -0,0 +1,51 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.utils.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterUnitTests {
+
+    @Test
+    public void mightContainIsTrueForEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for(int i = 0; i < 1000; i++) {
+            filter.put("user" + i);
+        }
+
+        for(int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    public void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for(int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for(int i = 0; i < 10_000; i++) {
+            if(filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void sizesBitsAndHashesFromExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertTrue(filter.getBitCount() >= 9586);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    public void rejectsInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1.5));
+    }
+}
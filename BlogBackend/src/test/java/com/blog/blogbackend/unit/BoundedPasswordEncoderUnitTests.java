@@ -0,0 +1,86 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
+import com.blog.blogbackend.utils.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderUnitTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if(encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    private PasswordEncoder blockingDelegate() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                }catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed-" + rawPassword);
+            }
+        };
+    }
+
+    @Test
+    public void encodeAndMatchesDelegateOnHashingPool() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blockingDelegate(), 1, 1, 1000);
+
+        String hash = encoder.encode("password");
+
+        assertEquals("hashed-password", hash);
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    public void rejectsImmediatelyWhenPoolAndQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingDelegate(), 1, 1, 5000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while(encoder.getQueuedCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingSaturatedException.class, () -> encoder.encode("third"));
+        assertEquals(1, encoder.getRejectedCount());
+
+        release.countDown();
+        assertEquals("hashed-first", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hashed-second", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givesUpWhenHashingTakesLongerThanTimeout() {
+        encoder = new BoundedPasswordEncoder(blockingDelegate(), 1, 1, 50);
+
+        assertThrows(PasswordHashingSaturatedException.class, () -> encoder.encode("slow"));
+        assertEquals(1, encoder.getTimedOutCount());
+    }
+}
@@ -0,0 +1,239 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.caches.PostLeaderboard;
+import com.blog.blogbackend.exceptions.EditConflictException;
+import com.blog.blogbackend.models.Comment;
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.repositories.CommentRepository;
+import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.services.CommentService;
+import com.blog.blogbackend.services.CommentServiceImpl;
+import com.blog.blogbackend.utils.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class CommentServiceUnitTests {
+
+    private CommentService commentService;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private Environment environment;
+    @Mock
+    private PostLeaderboard postLeaderboard;
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(environment.getProperty(anyString(), eq(Integer.class), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        commentService = new CommentServiceImpl(commentRepository, postRepository, environment,
+                postLeaderboard);
+        author = new User("johndoe", "password");
+        post = new Post("Test title", "test content", author);
+        post.setId(1L);
+    }
+
+    @Test
+    public void createSavesCommentAndIncrementsCommentCountOfPost() {
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Comment comment = commentService.create("Nice post", author, post);
+
+        assertEquals("Nice post", comment.getContent());
+        assertEquals(post, comment.getPost());
+        verify(postRepository).incrementCommentCount(post.getId(), 1);
+        verify(postLeaderboard).onCommentCountChanged(post.getId(), 1);
+    }
+
+    @Test
+    public void createUpdatesLeaderboardOnlyAfterCommit() {
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            commentService.create("Nice post", author, post);
+
+            verify(postLeaderboard, never()).onCommentCountChanged(anyLong(), anyInt());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postLeaderboard).onCommentCountChanged(post.getId(), 1);
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void softDeleteFlagsCommentAndDecrementsCommentCountOfPost() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setId(5L);
+        when(commentRepository.softDeleteById(5L)).thenReturn(1);
+
+        commentService.softDelete(comment);
+
+        assertTrue(comment.isDeleted());
+        verify(commentRepository).softDeleteById(5L);
+        verify(postRepository).incrementCommentCount(post.getId(), -1);
+        verify(postLeaderboard).onCommentCountChanged(post.getId(), -1);
+    }
+
+    @Test
+    public void softDeleteDoesNotDecrementCommentCountTwiceForDeletedComment() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setDeleted(true);
+
+        commentService.softDelete(comment);
+
+        verify(commentRepository, never()).softDeleteById(anyLong());
+        verify(postRepository, never()).incrementCommentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    public void softDeleteDoesNotDecrementCommentCountWhenConcurrentDeleteWon() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setId(5L);
+        when(commentRepository.softDeleteById(5L)).thenReturn(0);
+
+        commentService.softDelete(comment);
+
+        verify(postRepository, never()).incrementCommentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    public void softDeleteAllByAuthorRecountsCommentsOfAffectedPosts() {
+        author.setId(7L);
+        when(commentRepository.softDeleteAllByAuthorId(7L)).thenReturn(3);
+
+        assertEquals(3, commentService.softDeleteAllByAuthor(author));
+        verify(postRepository).recountCommentsOnPostsCommentedBy(7L);
+        verify(postLeaderboard).reload();
+    }
+
+    @Test
+    public void softDeleteAllByAuthorSkipsRecountWhenNothingWasDeleted() {
+        author.setId(7L);
+
+        assertEquals(0, commentService.softDeleteAllByAuthor(author));
+        verify(postRepository, never()).recountCommentsOnPostsCommentedBy(anyLong());
+    }
+
+    @Test
+    public void updateSavesNewContentWhenExpectedVersionMatches() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setId(5L);
+        comment.setVersion(1L);
+        when(commentRepository.save(comment)).thenReturn(comment);
+
+        Comment updated = commentService.update(comment, "Edited here", 1L);
+
+        assertEquals("Edited here", updated.getContent());
+    }
+
+    @Test
+    public void updateRejectsStaleExpectedVersionWithoutSaving() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setId(5L);
+        comment.setVersion(2L);
+
+        assertThrows(EditConflictException.class, () -> commentService.update(comment, "Edited here", 1L));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    public void updateReportsConflictInsteadOfOverwritingConcurrentEdit() {
+        Comment comment = new Comment("Nice post", author, post);
+        comment.setId(5L);
+        when(commentRepository.save(comment))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Comment.class, 5L));
+
+        assertThrows(EditConflictException.class, () -> commentService.update(comment, "Edited here", null));
+        verify(commentRepository, times(1)).save(comment);
+    }
+
+    private List<CommentDTO> prepareComments(int count) {
+        List<CommentDTO> comments = new ArrayList<>();
+        for(int i = 1; i <= count; i++) {
+            comments.add(new CommentDTO((long) i, post.getId(), "Comment " + i, new Date(1000L * i),
+                    0L, author.getId(), author.getUsername()));
+        }
+
+        return comments;
+    }
+
+    @Test
+    public void getCommentPageForPostReturnsCursorWhenMoreCommentsExist() {
+        when(commentRepository.findPageForPost(eq(post.getId()), any(Pageable.class))).thenReturn(prepareComments(3));
+
+        CommentPageDTO page = commentService.getCommentPageForPost(post.getId(), null, 2);
+
+        assertEquals(2, page.getComments().size());
+        assertEquals(new KeysetCursor(2000L, 2L).encode(), page.getNextCursor());
+    }
+
+    @Test
+    public void getCommentPageForPostReturnsNoCursorOnLastPage() {
+        when(commentRepository.findPageForPost(eq(post.getId()), any(Pageable.class))).thenReturn(prepareComments(2));
+
+        CommentPageDTO page = commentService.getCommentPageForPost(post.getId(), null, 2);
+
+        assertEquals(2, page.getComments().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void getCommentPageForPostContinuesAfterCursor() {
+        String cursor = new KeysetCursor(2000L, 2L).encode();
+        when(commentRepository.findPageForPostAfter(eq(post.getId()), eq(new Date(2000L)), eq(2L), any(Pageable.class)))
+                .thenReturn(prepareComments(1));
+
+        CommentPageDTO page = commentService.getCommentPageForPost(post.getId(), cursor, 2);
+
+        assertEquals(1, page.getComments().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void getCommentPageForPostCapsPageSize() {
+        when(commentRepository.findPageForPost(eq(post.getId()), any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        commentService.getCommentPageForPost(post.getId(), null, 5000);
+
+        verify(commentRepository).findPageForPost(post.getId(), PageRequest.of(0, 101));
+    }
+
+    @Test
+    public void getCommentPageForPostRejectsInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> commentService.getCommentPageForPost(post.getId(), null, 0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.filters.ConcurrencyLimitFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterUnitTests {
+
+    private ConcurrencyLimitFilter filter(MockEnvironment environment) {
+        return new ConcurrencyLimitFilter(environment
+                .withProperty("requests.concurrency-limit.acquire-timeout-ms", "10"));
+    }
+
+    @Test
+    public void isDisabledUnlessVirtualThreadsAreEnabled() throws Exception {
+        ConcurrencyLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("requests.concurrency-limit.max-concurrent", "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    public void sizesPermitsFromDatasourcePool() {
+        ConcurrencyLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "8"));
+
+        assertEquals(16, filter.getAvailablePermits());
+    }
+
+    @Test
+    public void rejectsWith503WhenAllPermitsAreInUse() throws Exception {
+        ConcurrencyLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("requests.concurrency-limit.max-concurrent", "1"));
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        AtomicInteger nestedPermits = new AtomicInteger(-1);
+        FilterChain holdingChain = (request, response) -> {
+            nestedPermits.set(filter.getAvailablePermits());
+            filter.doFilter(new MockHttpServletRequest(), nestedResponse, new MockFilterChain());
+        };
+
+        MockHttpServletResponse outerResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), outerResponse, holdingChain);
+
+        assertEquals(0, nestedPermits.get());
+        assertEquals(200, outerResponse.getStatus());
+        assertEquals(503, nestedResponse.getStatus());
+        assertEquals("1", nestedResponse.getHeader("Retry-After"));
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    public void holdsPermitUntilAsyncResponseCompletes() throws Exception {
+        ConcurrencyLimitFilter filter = filter(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("requests.concurrency-limit.max-concurrent", "1"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        FilterChain asyncChain = (chainRequest, chainResponse) -> chainRequest.startAsync();
+
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+        assertEquals(0, filter.getAvailablePermits());
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(1, filter.getAvailablePermits());
+    }
+}
@@ -0,0 +1,89 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.models.DTOs.CommentDTO;
+import com.blog.blogbackend.models.DTOs.CommentPageDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.utils.ContentETags;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentETagsUnitTests {
+
+    private final Date createdAt = new Date(0);
+
+    private PostDetailsDTO details(long version, int rating, int numberOfComments) {
+        return new PostDetailsDTO(1L, "Title", "content", createdAt, rating, numberOfComments, version,
+                7L, "johndoe");
+    }
+
+    private PostFeedPageDTO feedPage(String title, int rating) {
+        return new PostFeedPageDTO(List.of(new PostOverviewDTO(1L, title, "content", createdAt, rating, 0,
+                7L, "johndoe")), null);
+    }
+
+    private CommentPageDTO commentPage(long version) {
+        return new CommentPageDTO(List.of(new CommentDTO(3L, 1L, "comment", createdAt, version,
+                7L, "johndoe")), null);
+    }
+
+    @Test
+    public void forPostIsStableForUnchangedRowAndChangesWithVersionAndCounters() {
+        String eTag = ContentETags.forPost(details(0, 2, 1));
+
+        assertEquals(eTag, ContentETags.forPost(details(0, 2, 1)));
+        assertNotEquals(eTag, ContentETags.forPost(details(1, 2, 1)));
+        assertNotEquals(eTag, ContentETags.forPost(details(0, 3, 1)));
+        assertNotEquals(eTag, ContentETags.forPost(details(0, 2, 2)));
+    }
+
+    @Test
+    public void matchesPostVersionComparesVersionOfTheSamePost() {
+        String eTag = ContentETags.forPost(details(4, 2, 1));
+
+        assertTrue(ContentETags.matchesPostVersion(eTag, 1L, 4L));
+        assertTrue(ContentETags.matchesPostVersion("*", 1L, 4L));
+        assertFalse(ContentETags.matchesPostVersion(eTag, 1L, 5L));
+        assertFalse(ContentETags.matchesPostVersion(eTag, 11L, 4L));
+    }
+
+    @Test
+    public void matchesPostVersionAcceptsAnyTagOfAList() {
+        String eTag = ContentETags.forPost(details(4, 2, 1));
+
+        assertTrue(ContentETags.matchesPostVersion("\"post-1-3-0-0\", " + eTag, 1L, 4L));
+        assertFalse(ContentETags.matchesPostVersion("\"post-1-3-0-0\", \"post-1-5-0-0\"", 1L, 4L));
+    }
+
+    @Test
+    public void matchesVersionRejectsWeakTagsAndTagsOfOtherResources() {
+        String commentETag = ContentETags.forComment(new CommentDTO(1L, 1L, "comment", createdAt, 4L,
+                7L, "johndoe"));
+
+        assertFalse(ContentETags.matchesPostVersion("W/" + ContentETags.forPost(details(4, 2, 1)), 1L, 4L));
+        assertFalse(ContentETags.matchesPostVersion(commentETag, 1L, 4L));
+        assertTrue(ContentETags.matchesCommentVersion(commentETag, 1L, 4L));
+    }
+
+    @Test
+    public void forFeedPageChangesWhenListedPostChanges() {
+        String eTag = ContentETags.forFeedPage(feedPage("Title", 2));
+
+        assertEquals(eTag, ContentETags.forFeedPage(feedPage("Title", 2)));
+        assertNotEquals(eTag, ContentETags.forFeedPage(feedPage("Edited", 2)));
+        assertNotEquals(eTag, ContentETags.forFeedPage(feedPage("Title", 3)));
+    }
+
+    @Test
+    public void forCommentPageChangesWhenCommentIsEdited() {
+        String eTag = ContentETags.forCommentPage(1L, commentPage(0));
+
+        assertEquals(eTag, ContentETags.forCommentPage(1L, commentPage(0)));
+        assertNotEquals(eTag, ContentETags.forCommentPage(1L, commentPage(1)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.utils.ExpiringLruCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringLruCacheUnitTests {
+
+    private AtomicLong now;
+    private ExpiringLruCache<String, Integer> cache;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong(0);
+        cache = new ExpiringLruCache<>(2, Duration.ofSeconds(10), now::get);
+    }
+
+    @Test
+    public void getReturnsCachedValueBeforeExpiration() {
+        cache.put("a", 1);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+
+        assertEquals(1, cache.get("a"));
+    }
+
+    @Test
+    public void getReturnsNullAfterExpiration() {
+        cache.put("a", 1);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedEntryWhenFull() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    public void getWithLoaderCallsLoaderOnlyOnMiss() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> loads.incrementAndGet());
+        cache.get("a", key -> loads.incrementAndGet());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void hitAndMissCountsReflectLookups() {
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        cache.get("a");
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidateRemovesEntry() {
+        cache.put("a", 1);
+
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+    }
+}
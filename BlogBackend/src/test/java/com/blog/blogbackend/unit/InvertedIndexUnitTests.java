@@ -0,0 +1,61 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.search.InvertedIndex;
+import com.blog.blogbackend.search.SearchHit;
+import com.blog.blogbackend.search.SearchTokenizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexUnitTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, SearchTokenizer.tokenize("Spring Boot caching with Caffeine"));
+        index.put(2L, SearchTokenizer.tokenize("Caching, caching and more caching in Java"));
+        index.put(3L, SearchTokenizer.tokenize("Gardening tips for the spring season"));
+    }
+
+    private List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::postId).toList();
+    }
+
+    @Test
+    public void tokenizeLowercasesAndDropsPunctuationAndStopWords() {
+        assertEquals(List.of("spring", "boot", "jpa", "2024"), SearchTokenizer.tokenize("The Spring-Boot, JPA & 2024!"));
+    }
+
+    @Test
+    public void searchRanksHigherTermFrequencyFirst() {
+        assertEquals(List.of(2L, 1L), ids(index.search(SearchTokenizer.tokenize("caching"), 10)));
+    }
+
+    @Test
+    public void searchFavoursRareTermsOverCommonOnes() {
+        List<SearchHit> hits = index.search(SearchTokenizer.tokenize("spring caffeine"), 10);
+
+        assertEquals(1L, hits.get(0).postId());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    public void searchReturnsOnlyTopKHits() {
+        assertEquals(List.of(2L), ids(index.search(SearchTokenizer.tokenize("caching"), 1)));
+    }
+
+    @Test
+    public void putReplacesAndRemoveDropsDocument() {
+        index.put(3L, SearchTokenizer.tokenize("Now about caching"));
+        index.remove(2L);
+
+        assertEquals(List.of(3L, 1L), ids(index.search(SearchTokenizer.tokenize("caching"), 10)));
+        assertTrue(index.search(SearchTokenizer.tokenize("gardening"), 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
@@ -1,9 +1,12 @@
 package com.blog.blogbackend.unit;
 
+import com.blog.blogbackend.models.Role;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.services.JwtService;
 import com.blog.blogbackend.services.JwtServiceImpl;
 import com.blog.blogbackend.utils.TimeProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +19,8 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -34,9 +39,9 @@ public class JwtServiceUnitTests {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtService = new JwtServiceImpl(environment, timeProvider);
         when(environment.getProperty("jwt.secret-key")).thenReturn("Pdy1yzZW1lja+T+zI3IeHkiWaH0sqYoUlIl9VKy8sio=");
         when(timeProvider.now()).thenReturn(new Date(TIME_BEFORE_EXPIRATION_IN_MILLIS));
+        jwtService = new JwtServiceImpl(environment, timeProvider);
     }
 
     @Test
@@ -119,4 +124,67 @@ public class JwtServiceUnitTests {
         assertFalse(jwtService.isTokenValid(expiredToken, user));
     }
 
+    @Test
+    public void extractAllClaimsReturnsAllClaimsFromSingleParse() {
+        Claims claims = jwtService.extractAllClaims(VALID_UNEXPIRED_TOKEN);
+
+        assertEquals("johndoe", claims.get("username", String.class));
+        assertEquals(1L, claims.get("userId", Long.class));
+        assertTrue(claims.getExpiration().after(new Date(TIME_BEFORE_EXPIRATION_IN_MILLIS)));
+    }
+
+    @Test
+    public void extractAllClaimsThrowsExceptionForExpiredToken() {
+        when(timeProvider.now()).thenReturn(new Date(Long.MAX_VALUE / 2));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(VALID_UNEXPIRED_TOKEN));
+    }
+
+    @Test
+    public void isTokenValidWithClaimsReturnsFalseForDifferentUser() {
+        User user = new User();
+        user.setId(2L);
+        user.setUsername("janedoe");
+
+        Claims claims = jwtService.extractAllClaims(VALID_UNEXPIRED_TOKEN);
+
+        assertFalse(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    public void extractUserBuildsPrincipalFromGeneratedTokenClaims() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("johndoe");
+        user.setRole(Role.ROLE_USER);
+
+        String token = jwtService.generateToken(user);
+        User principal = jwtService.extractUser(jwtService.extractAllClaims(token));
+
+        assertNotNull(principal);
+        assertEquals(1L, principal.getId());
+        assertEquals("johndoe", principal.getUsername());
+        assertEquals(Role.ROLE_USER, principal.getRole());
+    }
+
+    @Test
+    public void extractUserReturnsNullForTokenWithoutRoleClaim() {
+        Claims claims = jwtService.extractAllClaims(VALID_UNEXPIRED_TOKEN);
+
+        assertNull(jwtService.extractUser(claims));
+    }
+
+    @Test
+    public void signingKeyIsReadOnlyOnceForAllTokenOperations() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("johndoe");
+
+        String token = jwtService.generateToken(user);
+        jwtService.isTokenValid(token, user);
+        jwtService.extractUsername(VALID_UNEXPIRED_TOKEN);
+
+        verify(environment, times(1)).getProperty("jwt.secret-key");
+    }
+
 }
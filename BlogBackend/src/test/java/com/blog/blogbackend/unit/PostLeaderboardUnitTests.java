@@ -0,0 +1,154 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.caches.PostLeaderboard;
+import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
+import com.blog.blogbackend.models.Post;
+import com.blog.blogbackend.models.User;
+import com.blog.blogbackend.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class PostLeaderboardUnitTests {
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private Environment environment;
+    private User author;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        author = new User("johndoe", "password");
+        author.setId(1L);
+    }
+
+    private PostLeaderboard leaderboard(boolean enabled, Post... storedPosts) {
+        when(environment.getProperty("posts.leaderboard.enabled", Boolean.class, false)).thenReturn(enabled);
+        when(environment.getProperty("posts.leaderboard.size", Integer.class, 200)).thenReturn(3);
+        when(postRepository.findFeedFirstPage(PageRequest.of(0, 3)))
+                .thenReturn(Arrays.stream(storedPosts).map(PostOverviewDTO::new).toList());
+
+        PostLeaderboard leaderboard = new PostLeaderboard(postRepository, environment);
+        leaderboard.reload();
+        return leaderboard;
+    }
+
+    private Post post(long id, int rating) {
+        Post post = new Post("Post" + id, "content", author);
+        post.setId(id);
+        post.setRating(rating);
+        return post;
+    }
+
+    private List<Long> topIds(PostLeaderboard leaderboard, int count) {
+        return leaderboard.getTop(count).orElseThrow().stream().map(PostOverviewDTO::getId).toList();
+    }
+
+    @Test
+    public void getTopIsEmptyWhenDisabled() {
+        PostLeaderboard leaderboard = leaderboard(false, post(1, 5));
+
+        assertTrue(leaderboard.getTop(1).isEmpty());
+        verify(postRepository, never()).findFeedFirstPage(any());
+    }
+
+    @Test
+    public void getTopServesReloadedPostsInFeedOrder() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(3, 3), post(2, 3));
+
+        assertEquals(List.of(1L, 3L, 2L), topIds(leaderboard, 3));
+        assertTrue(leaderboard.getTop(4).isEmpty());
+    }
+
+    @Test
+    public void getTopServesShortListWhenEveryPostIsTracked() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3));
+
+        assertEquals(List.of(1L, 2L), topIds(leaderboard, 10));
+    }
+
+    @Test
+    public void onPostRatedMovesPostToItsNewRank() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3), post(3, 1));
+
+        leaderboard.onPostRated(post(3, 10));
+
+        assertEquals(List.of(3L, 1L, 2L), topIds(leaderboard, 3));
+    }
+
+    @Test
+    public void onPostRatedReleasesPostThatFallsBelowTrackedPrefix() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3), post(3, 1));
+
+        leaderboard.onPostRated(post(1, -5));
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(List.of(2L, 3L), topIds(leaderboard, 2));
+        assertTrue(leaderboard.getTop(3).isEmpty());
+    }
+
+    @Test
+    public void onPostCreatedEvictsLowestPostWhenFull() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, -1));
+
+        leaderboard.onPostCreated(post(3, 0));
+        leaderboard.onPostCreated(post(4, 0));
+
+        assertEquals(3, leaderboard.size());
+        assertEquals(List.of(1L, 4L, 3L), topIds(leaderboard, 3));
+        assertTrue(leaderboard.getTop(4).isEmpty());
+    }
+
+    @Test
+    public void onPostDeletedRemovesPost() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3));
+
+        leaderboard.onPostDeleted(1L);
+
+        assertEquals(List.of(2L), topIds(leaderboard, 10));
+    }
+
+    @Test
+    public void onPostEditedKeepsRankAndReplacesContent() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3));
+        Post edited = post(2, 0);
+        edited.setTitle("Edited");
+
+        leaderboard.onPostEdited(edited);
+
+        PostOverviewDTO overview = leaderboard.getTop(2).orElseThrow().get(1);
+        assertEquals("Edited", overview.getTitle());
+        assertEquals(3, overview.getRating());
+    }
+
+    @Test
+    public void onCommentCountChangedUpdatesTrackedPostInPlace() {
+        PostLeaderboard leaderboard = leaderboard(true, post(1, 5), post(2, 3));
+
+        leaderboard.onCommentCountChanged(2L, 1);
+        leaderboard.onCommentCountChanged(2L, 1);
+        leaderboard.onCommentCountChanged(2L, -1);
+        leaderboard.onCommentCountChanged(9L, 1);
+
+        List<PostOverviewDTO> top = leaderboard.getTop(2).orElseThrow();
+        assertEquals(List.of(1L, 2L), top.stream().map(PostOverviewDTO::getId).toList());
+        assertEquals(0, top.get(0).getNumberOfComments());
+        assertEquals(1, top.get(1).getNumberOfComments());
+    }
+}
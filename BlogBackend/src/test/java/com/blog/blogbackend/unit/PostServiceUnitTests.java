@@ -1,27 +1,51 @@
 package com.blog.blogbackend.unit;
 
+import com.blog.blogbackend.caches.PostLeaderboard;
+import com.blog.blogbackend.exceptions.EditConflictException;
 import com.blog.blogbackend.models.Comment;
 import com.blog.blogbackend.models.DTOs.NewPostDTO;
+import com.blog.blogbackend.models.DTOs.PostDetailsDTO;
+import com.blog.blogbackend.models.DTOs.PostFeedPageDTO;
 import com.blog.blogbackend.models.DTOs.PostOverviewDTO;
 import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.models.Vote;
+import com.blog.blogbackend.ranking.NewRankingStrategy;
+import com.blog.blogbackend.ranking.TopRankingStrategy;
 import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.search.PostSearchIndex;
+import com.blog.blogbackend.search.SearchHit;
 import com.blog.blogbackend.services.*;
+import com.blog.blogbackend.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doAnswer;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -34,6 +58,12 @@ public class PostServiceUnitTests {
     private VoteService voteService;
     @Mock
     private CommentService commentService;
+    @Mock
+    private Environment environment;
+    @Mock
+    private PostLeaderboard postLeaderboard;
+    @Mock
+    private PostSearchIndex postSearchIndex;
     private User author;
     private Post post1, post2;
     private List<Post> testPosts;
@@ -41,7 +71,11 @@ public class PostServiceUnitTests {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        postService = new PostServiceImpl(postRepository, voteService, commentService);
+        when(environment.getProperty(anyString(), eq(Integer.class), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        postService = new PostServiceImpl(postRepository, voteService, commentService, environment,
+                List.of(new TopRankingStrategy(), new NewRankingStrategy()), postLeaderboard,
+                postSearchIndex);
         author = new User("johndoe", "password");
         post1 = new Post("Post1", "test content", author);
         post1.setId(1L);
@@ -53,20 +87,24 @@ public class PostServiceUnitTests {
     }
 
     @Test
-    public void calculateAllRatingsUpdatesRatingsOfAllPosts() {
-        when(postRepository.findAllByDeletedOrderByRatingDesc(false))
-                .thenReturn(testPosts);
-        when(voteService.calculateRatingForPost(any(Post.class)))
-                .thenAnswer(invocation -> {
-                    Post p = invocation.getArgument(0);
-                    p.setRating(5);
-                    return p;
-                });
+    public void calculateAllRatingsRepairsDriftedRatingsWithSingleStatement() {
+        when(voteService.reconcileRatings()).thenReturn(2);
 
-        postService.calculateAllRatings();
+        int repaired = postService.calculateAllRatings();
 
-        assertEquals(5, post1.getRating());
-        assertEquals(5, post2.getRating());
+        assertEquals(2, repaired);
+        verify(voteService).reconcileRatings();
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    public void calculateAllCommentCountsRepairsDriftedCountsWithSingleStatement() {
+        when(postRepository.reconcileCommentCounts()).thenReturn(1);
+
+        int repaired = postService.calculateAllCommentCounts();
+
+        assertEquals(1, repaired);
+        verify(postRepository).reconcileCommentCounts();
     }
 
     @Test
@@ -81,10 +119,96 @@ public class PostServiceUnitTests {
 
         assertEquals(post2, posts.get(0));
         assertEquals(post1, posts.get(1));
+        verify(postRepository, never()).reconcileRatings();
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    public void getFeedPageReturnsRequestedNumberOfPostsAndCursorToNextPage() {
+        when(postRepository.findFeedFirstPage(PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(new PostOverviewDTO(post2), new PostOverviewDTO(post1)));
+
+        PostFeedPageDTO page = postService.getFeedPage(null, 1);
+        KeysetCursor nextCursor = KeysetCursor.decode(page.getNextCursor());
+
+        assertEquals(1, page.getPosts().size());
+        assertEquals(post2.getId(), page.getPosts().get(0).getId());
+        assertEquals(post2.getRating(), nextCursor.getKey());
+        assertEquals(post2.getId(), nextCursor.getId());
+    }
+
+    @Test
+    public void getFeedPageReturnsNoCursorForLastPage() {
+        String cursor = new KeysetCursor(0, 2L).encode();
+        when(postRepository.findFeedPageAfter(0, 2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new PostOverviewDTO(post1)));
+
+        PostFeedPageDTO page = postService.getFeedPage(cursor, 1);
+
+        assertEquals(1, page.getPosts().size());
+        assertEquals(post1.getId(), page.getPosts().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void getFeedPageServesFirstPageFromLeaderboardWithoutQuery() {
+        when(postLeaderboard.getTop(2))
+                .thenReturn(Optional.of(Arrays.asList(new PostOverviewDTO(post2), new PostOverviewDTO(post1))));
+
+        PostFeedPageDTO page = postService.getFeedPage(null, 1);
+
+        assertEquals(post2.getId(), page.getPosts().get(0).getId());
+        assertNotNull(page.getNextCursor());
+        verify(postRepository, never()).findFeedFirstPage(any());
+    }
+
+    @Test
+    public void getFeedPageCapsRequestedPageSize() {
+        when(postRepository.findFeedFirstPage(any(PageRequest.class)))
+                .thenReturn(postService.convertPostsToOverviews(testPosts));
+
+        postService.getFeedPage(null, 100000);
+
+        verify(postRepository).findFeedFirstPage(PageRequest.of(0, 101));
+    }
+
+    @Test
+    public void getFeedPageThrowsCorrectExceptionForInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> postService.getFeedPage("not-a-cursor", 10));
+    }
+
+    @Test
+    public void getRankedPostsQueriesWithSortOfRequestedStrategy() {
+        when(postRepository.findRanked(any(PageRequest.class)))
+                .thenReturn(postService.convertPostsToOverviews(testPosts));
+
+        List<PostOverviewDTO> ranked = postService.getRankedPosts("NEW", 2, 10);
+
+        assertEquals(2, ranked.size());
+        verify(postRepository).findRanked(PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+    }
+
+    @Test
+    public void getRankedPostsThrowsCorrectExceptionForUnknownStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> postService.getRankedPosts("random", null, null));
+    }
+
+    @Test
+    public void exportFeedPassesEveryOverviewToConsumerAndClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(postRepository.streamFeed()).thenReturn(
+                Stream.of(new PostOverviewDTO(post2), new PostOverviewDTO(post1)).onClose(() -> closed.set(true)));
+        List<Long> exportedIds = new ArrayList<>();
+
+        postService.exportFeed(overview -> exportedIds.add(overview.getId()));
+
+        assertEquals(List.of(post2.getId(), post1.getId()), exportedIds);
+        assertTrue(closed.get());
     }
 
     @Test
     public void convertPostsToOverviewsReturnsCorrectOverviewDTOs() {
+        post1.setCommentCount(3);
         List<PostOverviewDTO> overviews = postService.convertPostsToOverviews(testPosts);
         String overview1Title = overviews.get(0).getTitle();
         String overview1Content = overviews.get(0).getContent();
@@ -95,6 +219,8 @@ public class PostServiceUnitTests {
         assertEquals(post1.getContent(), overview1Content);
         assertEquals(post2.getTitle(), overview2Title);
         assertEquals(post2.getContent(), overview2Content);
+        assertEquals(3, overviews.get(0).getNumberOfComments());
+        assertEquals(0, overviews.get(1).getNumberOfComments());
     }
 
     @Test
@@ -137,6 +263,25 @@ public class PostServiceUnitTests {
         assertThrows(EntityNotFoundException.class, () -> postService.getPostById(id));
     }
 
+    @Test
+    public void getPostDetailsReturnsProjectionForExistingId() {
+        when(postRepository.findDetailsById(post1.getId()))
+                .thenReturn(Optional.of(new PostDetailsDTO(post1)));
+
+        PostDetailsDTO details = postService.getPostDetails(post1.getId());
+
+        assertEquals(post1.getTitle(), details.getTitle());
+        assertEquals(author.getUsername(), details.getAuthor().getUsername());
+    }
+
+    @Test
+    public void getPostDetailsThrowsCorrectExceptionForNonExistentId() {
+        when(postRepository.findDetailsById(123456L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> postService.getPostDetails(123456L));
+    }
+
     @Test
     public void verifyAuthorDoesNotThrowExceptionForCorrectAuthor() {
         assertDoesNotThrow(() -> postService.verifyAuthor(post1, author));
@@ -168,28 +313,117 @@ public class PostServiceUnitTests {
     }
 
     @Test
-    public void softDeletePostFlagsPostAndAllCorrespondingVotesAndCommentsAsDeleted() {
-        Comment comment = new Comment("Yes, I comment my own post", author, post1);
-        Vote vote = new Vote(author, post1);
-        vote.setVoteValue(1);
-        post1.getComments().add(comment);
-        post1.getVotes().add(vote);
-
-        doAnswer(invocation -> {
-            Comment c = invocation.getArgument(0);
-            c.setDeleted(true);
-            return null;
-        }).when(commentService).softDelete(any(Comment.class));
-        doAnswer(invocation -> {
-            Vote v = invocation.getArgument(0);
-            v.setDeleted(true);
-            return null;
-        }).when(voteService).softDelete(any(Vote.class));
+    public void updatePostRejectsStaleExpectedVersionWithoutSaving() {
+        post1.setVersion(2L);
+        NewPostDTO updateData = new NewPostDTO("New title", "new content", 1L);
+
+        assertThrows(EditConflictException.class, () -> postService.update(post1, updateData));
+        verify(postRepository, never()).save(any(Post.class));
+        assertEquals("Post1", post1.getTitle());
+    }
 
+    @Test
+    public void updatePostReportsConflictInsteadOfOverwritingConcurrentEdit() {
+        NewPostDTO updateData = new NewPostDTO("New title", "new content");
+        when(postRepository.save(post1))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Post.class, post1.getId()));
+
+        assertThrows(EditConflictException.class, () -> postService.update(post1, updateData));
+        verify(postRepository, times(1)).save(post1);
+        verify(postRepository, never()).findByIdAndDeleted(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void softDeletePostFlagsPostAndAllCorrespondingVotesAndCommentsAsDeleted() {
         postService.softDelete(post1);
 
+        verify(postRepository).softDeleteById(post1.getId());
+        verify(commentService).softDeleteAllForPost(post1);
+        verify(voteService).softDeleteAllForPost(post1);
+        verify(commentService, never()).softDelete(any(Comment.class));
+        verify(voteService, never()).softDelete(any(Vote.class));
         assertTrue(post1.isDeleted());
-        assertTrue(comment.isDeleted());
-        assertTrue(vote.isDeleted());
+    }
+
+    @Test
+    public void softDeleteAllByAuthorFlagsPostsAndTheirContentAndDropsThemFromLeaderboard() {
+        author.setId(7L);
+        when(postRepository.findIdsByAuthorId(author.getId())).thenReturn(List.of(1L, 2L));
+        when(postRepository.softDeleteAllByAuthorId(author.getId())).thenReturn(2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            int deletedPosts = postService.softDeleteAllByAuthor(author);
+
+            assertEquals(2, deletedPosts);
+            verify(commentService).softDeleteAllOnPostsByAuthor(author);
+            verify(voteService).softDeleteAllOnPostsByAuthor(author);
+            verify(postLeaderboard, never()).onPostDeleted(anyLong());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postLeaderboard).onPostDeleted(1L);
+            verify(postLeaderboard).onPostDeleted(2L);
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void softDeleteAllVotesByReloadsLeaderboardAfterCommit() {
+        when(voteService.softDeleteAllByUser(author)).thenReturn(2);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(2, postService.softDeleteAllVotesBy(author));
+
+            verify(postLeaderboard, never()).reload();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postLeaderboard).reload();
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void searchPostsReturnsOverviewsInRelevanceOrderAndSkipsVanishedPosts() {
+        when(postSearchIndex.search("caching", 20))
+                .thenReturn(List.of(new SearchHit(2L, 3.0), new SearchHit(9L, 2.0), new SearchHit(1L, 1.0)));
+        when(postRepository.findOverviewsByIds(List.of(2L, 9L, 1L)))
+                .thenReturn(List.of(new PostOverviewDTO(post1), new PostOverviewDTO(post2)));
+
+        List<PostOverviewDTO> results = postService.searchPosts("caching", null);
+
+        assertEquals(List.of(2L, 1L), results.stream().map(PostOverviewDTO::getId).toList());
+    }
+
+    @Test
+    public void searchPostsRejectsBlankQuery() {
+        assertThrows(IllegalArgumentException.class, () -> postService.searchPosts("  ", null));
+    }
+
+    @Test
+    public void createAndSoftDeleteKeepSearchIndexCurrent() {
+        when(postRepository.save(any(Post.class))).thenReturn(post1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.create(new NewPostDTO("Post1", "test content"), author);
+            postService.softDelete(post1);
+
+            verify(postSearchIndex, never()).index(any(Post.class));
+            verify(postSearchIndex, never()).remove(anyLong());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postSearchIndex).index(post1);
+            verify(postSearchIndex).remove(post1.getId());
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void softDeleteAllByAuthorDoesNothingWithoutPosts() {
+        author.setId(7L);
+        when(postRepository.findIdsByAuthorId(author.getId())).thenReturn(List.of());
+
+        assertEquals(0, postService.softDeleteAllByAuthor(author));
+        verify(postRepository, never()).softDeleteAllByAuthorId(any());
     }
 }
@@ -0,0 +1,192 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.repositories.PostRepository;
+import com.blog.blogbackend.services.RatingDeltaBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class RatingDeltaBufferUnitTests {
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private Environment environment;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private RatingDeltaBuffer buffer(boolean writeBehind) {
+        when(environment.getProperty("ratings.write-behind.enabled", Boolean.class, false)).thenReturn(writeBehind);
+        return new RatingDeltaBuffer(postRepository, environment);
+    }
+
+    @Test
+    public void applyWritesDeltaImmediatelyWhenWriteBehindIsDisabled() {
+        RatingDeltaBuffer buffer = buffer(false);
+        when(postRepository.findRatingById(1L)).thenReturn(4);
+
+        int rating = buffer.apply(1L, 1);
+
+        assertEquals(4, rating);
+        verify(postRepository).incrementRating(1L, 1);
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void applyAccumulatesDeltasAndIncludesThemInReturnedRating() {
+        RatingDeltaBuffer buffer = buffer(true);
+        when(postRepository.findRatingById(1L)).thenReturn(10);
+
+        buffer.apply(1L, 1);
+        buffer.apply(1L, 1);
+        int rating = buffer.apply(1L, -1);
+
+        assertEquals(11, rating);
+        assertEquals(1, buffer.getPendingDelta(1L));
+        verify(postRepository, never()).incrementRating(anyLong(), anyInt());
+    }
+
+    @Test
+    public void applyBuffersDeltaOnlyAfterVoteCommits() {
+        RatingDeltaBuffer buffer = buffer(true);
+        when(postRepository.findRatingById(1L)).thenReturn(10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(11, buffer.apply(1L, 1));
+
+            assertEquals(0, buffer.getPendingDelta(1L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertEquals(1, buffer.getPendingDelta(1L));
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void applyDiscardsDeltaOfRolledBackVote() {
+        RatingDeltaBuffer buffer = buffer(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.apply(1L, 1);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        buffer.reconcile();
+
+        assertEquals(0, buffer.getPendingDelta(1L));
+        verify(postRepository, never()).incrementRating(anyLong(), anyInt());
+        verify(postRepository).reconcileRatings();
+    }
+
+    @Test
+    public void flushWritesOneSummedUpdatePerPost() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, 1);
+        buffer.apply(1L, 1);
+        buffer.apply(2L, -1);
+        buffer.apply(3L, 1);
+        buffer.apply(3L, -1);
+
+        buffer.flush();
+
+        verify(postRepository).incrementRating(1L, 2);
+        verify(postRepository).incrementRating(2L, -1);
+        verify(postRepository, never()).incrementRating(eq(3L), anyInt());
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void flushKeepsDeltaForRetryWhenUpdateFails() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, 1);
+        when(postRepository.incrementRating(1L, 1)).thenThrow(new QueryTimeoutException("timeout"));
+
+        buffer.flush();
+
+        assertEquals(1, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void flushOnShutdownWritesPendingDeltas() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, -1);
+
+        buffer.flushOnShutdown();
+
+        verify(postRepository).incrementRating(1L, -1);
+    }
+
+    @Test
+    public void reconcileFlushesPendingDeltasBeforeRecounting() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, 1);
+        when(postRepository.reconcileRatings()).thenReturn(0);
+
+        buffer.reconcile();
+
+        InOrder inOrder = inOrder(postRepository);
+        inOrder.verify(postRepository).incrementRating(1L, 1);
+        inOrder.verify(postRepository).reconcileRatings();
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void recountRatingsOnPostsVotedByFlushesPendingDeltasFirst() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, 1);
+
+        buffer.recountRatingsOnPostsVotedBy(7L);
+
+        InOrder inOrder = inOrder(postRepository);
+        inOrder.verify(postRepository).incrementRating(1L, 1);
+        inOrder.verify(postRepository).recountRatingsOnPostsVotedBy(7L);
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void reconcileDropsDeltasThatCouldNotBeFlushed() {
+        RatingDeltaBuffer buffer = buffer(true);
+        buffer.apply(1L, 1);
+        when(postRepository.incrementRating(1L, 1)).thenThrow(new QueryTimeoutException("timeout"));
+
+        buffer.reconcile();
+
+        verify(postRepository).reconcileRatings();
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+
+    @Test
+    public void applyWritesThroughWhileReconciling() {
+        RatingDeltaBuffer buffer = buffer(true);
+        when(postRepository.reconcileRatings()).thenAnswer(invocation -> buffer.apply(1L, 1));
+
+        buffer.reconcile();
+
+        verify(postRepository).incrementRating(1L, 1);
+        assertEquals(0, buffer.getPendingDelta(1L));
+    }
+}
@@ -1,8 +1,13 @@
 package com.blog.blogbackend.unit;
 
+import com.blog.blogbackend.caches.UserStatusCache;
+import com.blog.blogbackend.caches.UsernameBloomFilter;
+import com.blog.blogbackend.exceptions.PasswordHashingSaturatedException;
 import com.blog.blogbackend.models.DTOs.NewUserDTO;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.repositories.UserRepository;
+import com.blog.blogbackend.services.CommentService;
+import com.blog.blogbackend.services.PostService;
 import com.blog.blogbackend.services.UserService;
 import com.blog.blogbackend.services.UserServiceImpl;
 import jakarta.persistence.EntityExistsException;
@@ -12,17 +17,20 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -33,11 +41,22 @@ public class UserServiceUnitTests {
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserStatusCache userStatusCache;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private PostService postService;
+    @Mock
+    private CommentService commentService;
+    @Mock
+    private UsernameBloomFilter usernameBloomFilter;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserServiceImpl(userRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, userStatusCache, userCache,
+                postService, commentService, usernameBloomFilter);
         when(passwordEncoder.encode(any(String.class))).thenReturn("encodedPassword");
     }
 
@@ -50,6 +69,28 @@ public class UserServiceUnitTests {
 
         assertEquals(userData.getUsername(), user.getUsername());
         assertEquals("encodedPassword", user.getPassword());
+        verify(userRepository, never()).existsByUsername(any(String.class));
+        verify(usernameBloomFilter).put("johnUnique");
+    }
+
+    @Test
+    public void createRejectsKnownUsernameBeforeHashing() {
+        NewUserDTO userData = new NewUserDTO("johnTaken", "password");
+        when(usernameBloomFilter.mightContain("johnTaken")).thenReturn(true);
+        when(userRepository.existsByUsername("johnTaken")).thenReturn(true);
+
+        assertThrows(EntityExistsException.class, () -> userService.create(userData));
+        verify(passwordEncoder, never()).encode(any(String.class));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void isUsernameAvailableConfirmsFilterHitWithLookup() {
+        when(usernameBloomFilter.mightContain("johnMaybe")).thenReturn(true);
+        when(userRepository.existsByUsername("johnMaybe")).thenReturn(false);
+
+        assertTrue(userService.isUsernameAvailable("johnMaybe"));
+        verify(userRepository).existsByUsername("johnMaybe");
     }
 
     @Test
@@ -60,6 +101,14 @@ public class UserServiceUnitTests {
         assertThrows(EntityExistsException.class, () -> userService.create(userData));
     }
 
+    @Test
+    public void createPropagatesSaturatedHashingInsteadOfReportingTakenUsername() {
+        NewUserDTO userData = new NewUserDTO("johnBusy", "password");
+        when(passwordEncoder.encode("password")).thenThrow(new PasswordHashingSaturatedException("busy"));
+
+        assertThrows(PasswordHashingSaturatedException.class, () -> userService.create(userData));
+    }
+
     @Test
     public void loadUserByUsernameReturnsUserDetailsForExistingUsername() {
         User user = new User("johntest", "password");
@@ -84,16 +133,35 @@ public class UserServiceUnitTests {
     @Test
     public void softDeleteMarksUserAsDeleted() {
         User user = new User("johntest", "password");
-        List<User> fakeRepository = new ArrayList<>();
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User savedUser = invocation.getArgument(0);
-            fakeRepository.add(savedUser);
-            return savedUser;
-        });
+        user.setId(1L);
+        when(userRepository.softDeleteById(1L)).thenReturn(1);
 
         userService.softDelete(user);
 
-        assertEquals(user.getUsername(), fakeRepository.get(0).getUsername());
-        assertTrue(fakeRepository.get(0).isDeleted());
+        assertTrue(user.isDeleted());
+        verify(userRepository).softDeleteById(1L);
+        verify(userRepository, never()).save(any(User.class));
+        verify(postService).softDeleteAllByAuthor(user);
+        verify(commentService).softDeleteAllByAuthor(user);
+        verify(postService).softDeleteAllVotesBy(user);
+        verify(userStatusCache).evict(1L);
+        verify(userCache).removeUserFromCache("johntest");
+    }
+
+    @Test
+    public void softDeleteEvictsCachedUserOnlyAfterCommit() {
+        User user = new User("johntest", "password");
+        user.setId(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.softDelete(user);
+
+            verify(userStatusCache, never()).evict(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(userStatusCache).evict(1L);
+            verify(userCache).removeUserFromCache("johntest");
+        }finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 }
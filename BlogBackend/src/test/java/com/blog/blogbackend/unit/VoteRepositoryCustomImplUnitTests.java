@@ -0,0 +1,41 @@
+package com.blog.blogbackend.unit;
+
+import com.blog.blogbackend.repositories.VoteRepositoryCustomImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VoteRepositoryCustomImplUnitTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final VoteRepositoryCustomImpl repository = new VoteRepositoryCustomImpl(jdbcTemplate);
+
+    @Test
+    public void insertVoteIfAbsentReportsInsertedRow() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        assertEquals(1, repository.insertVoteIfAbsent(1L, 2L, 1));
+    }
+
+    @Test
+    public void insertVoteIfAbsentAbsorbsOnlyDuplicateKey() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+        assertEquals(0, repository.insertVoteIfAbsent(1L, 2L, 1));
+    }
+
+    @Test
+    public void insertVoteIfAbsentPropagatesOtherIntegrityErrors() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("foreign key"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.insertVoteIfAbsent(1L, 2L, 1));
+    }
+}
@@ -5,9 +5,9 @@ import com.blog.blogbackend.models.Post;
 import com.blog.blogbackend.models.User;
 import com.blog.blogbackend.models.Vote;
 import com.blog.blogbackend.repositories.VoteRepository;
+import com.blog.blogbackend.services.RatingDeltaBuffer;
 import com.blog.blogbackend.services.VoteService;
 import com.blog.blogbackend.services.VoteServiceImpl;
-import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -15,10 +15,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
-import java.util.*;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -28,14 +28,17 @@ public class VoteServiceUnitTests {
     private VoteService voteService;
     @Mock
     private VoteRepository voteRepository;
+    @Mock
+    private RatingDeltaBuffer ratingDeltaBuffer;
     private User author;
     private Post post;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        voteService = new VoteServiceImpl(voteRepository);
+        voteService = new VoteServiceImpl(voteRepository, ratingDeltaBuffer);
         author = new User("johndoe", "password");
+        author.setId(1L);
         post = new Post("Test title", "test content", author);
         post.setId(1L);
     }
@@ -66,134 +69,86 @@ public class VoteServiceUnitTests {
     }
 
     @Test
-    public void voteUpReturnsPostWithRatingOneUpWhenNotVotedBefore() {
-        User newUser = new User("johnynew", "password");
-        List<Vote> votes = new ArrayList<>();
-
-        when(voteRepository.findByUserAndPost(newUser, post)).thenReturn(Optional.empty());
-        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> {
-            Vote vote = invocation.getArgument(0);
-            votes.add(vote);
-            post.setVotes(votes);
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(1);
+    public void softDeleteAllByUserRecountsRatingsOfPostsTheUserVotedOn() {
+        when(voteRepository.softDeleteAllByUserId(author.getId())).thenReturn(2);
+
+        assertEquals(2, voteService.softDeleteAllByUser(author));
+        verify(ratingDeltaBuffer).recountRatingsOnPostsVotedBy(author.getId());
+    }
+
+    @Test
+    public void softDeleteAllByUserSkipsRecountWhenUserNeverVoted() {
+        when(voteRepository.softDeleteAllByUserId(author.getId())).thenReturn(0);
+
+        assertEquals(0, voteService.softDeleteAllByUser(author));
+        verify(ratingDeltaBuffer, never()).recountRatingsOnPostsVotedBy(anyLong());
+    }
+
+    @Test
+    public void voteUpInsertsVoteAndIncrementsRatingWhenNotVotedBefore() {
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), 1)).thenReturn(1);
+        when(ratingDeltaBuffer.apply(post.getId(), 1)).thenReturn(1);
 
         post = voteService.voteUp(post, author);
 
-        verify(voteRepository).save(any(Vote.class));
+        verify(voteRepository, never()).applyVoteDelta(any(), any(), anyInt());
+        verify(ratingDeltaBuffer).apply(post.getId(), 1);
         assertEquals(1, post.getRating());
-        assertEquals(1, post.getVotes().size());
-        assertEquals(1, post.getVotes().get(0).getVoteValue());
     }
 
     @Test
-    public void voteUpReturnsPostWithRatingOneUpWhenDownvotedBefore() {
-        List<Vote> votes = new ArrayList<>();
-        Vote vote = new Vote(author, post);
-        vote.setVoteValue(-1);
-        votes.add(vote);
-        post.setVotes(votes);
-
-        when(voteRepository.findByUserAndPost(author, post)).thenReturn(Optional.of(vote));
-        when(voteRepository.save(vote)).thenAnswer(invocation -> {
-            votes.set(0, vote);
-            post.setVotes(votes);
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(0);
+    public void voteUpUpdatesExistingVoteInPlaceWhenDownvotedBefore() {
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), 1)).thenReturn(0);
+        when(voteRepository.applyVoteDelta(author.getId(), post.getId(), 1)).thenReturn(1);
+        when(ratingDeltaBuffer.apply(post.getId(), 1)).thenReturn(0);
 
         post = voteService.voteUp(post, author);
 
-        verify(voteRepository).save(any(Vote.class));
+        verify(voteRepository).applyVoteDelta(author.getId(), post.getId(), 1);
+        verify(ratingDeltaBuffer).apply(post.getId(), 1);
         assertEquals(0, post.getRating());
-        assertEquals(1, post.getVotes().size());
-        assertEquals(0,post.getVotes().get(0).getVoteValue());
     }
 
     @Test
     public void voteUpThrowsIllegalVoteExceptionWhenUpvotedAlready() {
-        List<Vote> votes = new ArrayList<>();
-        Vote vote = new Vote(author, post);
-        vote.setVoteValue(1);
-        votes.add(vote);
-        post.setVotes(votes);
-
-        when(voteRepository.findByUserAndPost(author, post)).thenReturn(Optional.of(vote));
-        when(voteRepository.save(vote)).thenAnswer(invocation -> {
-            if(vote.getVoteValue() > 1) {
-                throw new ConstraintViolationException("Vote value cannot exceed 1.", null);
-            }
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(1);
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), 1)).thenReturn(0);
+        when(voteRepository.applyVoteDelta(author.getId(), post.getId(), 1)).thenReturn(0);
 
         assertThrows(IllegalVoteException.class, () -> voteService.voteUp(post, author));
+        verify(ratingDeltaBuffer, never()).apply(anyLong(), anyInt());
     }
 
     @Test
-    public void voteDownReturnsPostWithRatingOneUpWhenNotVotedBefore() {
-        User newUser = new User("johnynew", "password");
-        List<Vote> votes = new ArrayList<>();
-
-        when(voteRepository.findByUserAndPost(newUser, post)).thenReturn(Optional.empty());
-        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> {
-            Vote vote = invocation.getArgument(0);
-            votes.add(vote);
-            post.setVotes(votes);
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(-1);
+    public void voteDownInsertsVoteAndDecrementsRatingWhenNotVotedBefore() {
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), -1)).thenReturn(1);
+        when(ratingDeltaBuffer.apply(post.getId(), -1)).thenReturn(-1);
 
         post = voteService.voteDown(post, author);
 
-        verify(voteRepository).save(any(Vote.class));
+        verify(voteRepository, never()).applyVoteDelta(any(), any(), anyInt());
+        verify(ratingDeltaBuffer).apply(post.getId(), -1);
         assertEquals(-1, post.getRating());
-        assertEquals(1, post.getVotes().size());
-        assertEquals(-1, post.getVotes().get(0).getVoteValue());
     }
 
     @Test
-    public void voteDownReturnsPostWithRatingOneUpWhenUpvotedBefore() {
-        List<Vote> votes = new ArrayList<>();
-        Vote vote = new Vote(author, post);
-        vote.setVoteValue(1);
-        votes.add(vote);
-        post.setVotes(votes);
-
-        when(voteRepository.findByUserAndPost(author, post)).thenReturn(Optional.of(vote));
-        when(voteRepository.save(vote)).thenAnswer(invocation -> {
-            votes.set(0, vote);
-            post.setVotes(votes);
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(0);
+    public void voteDownUpdatesExistingVoteInPlaceWhenUpvotedBefore() {
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), -1)).thenReturn(0);
+        when(voteRepository.applyVoteDelta(author.getId(), post.getId(), -1)).thenReturn(1);
+        when(ratingDeltaBuffer.apply(post.getId(), -1)).thenReturn(0);
 
         post = voteService.voteDown(post, author);
 
-        verify(voteRepository).save(any(Vote.class));
+        verify(voteRepository).applyVoteDelta(author.getId(), post.getId(), -1);
+        verify(ratingDeltaBuffer).apply(post.getId(), -1);
         assertEquals(0, post.getRating());
-        assertEquals(1, post.getVotes().size());
-        assertEquals(0,post.getVotes().get(0).getVoteValue());
     }
 
     @Test
     public void voteDownThrowsIllegalVoteExceptionWhenDownvotedAlready() {
-        List<Vote> votes = new ArrayList<>();
-        Vote vote = new Vote(author, post);
-        vote.setVoteValue(-1);
-        votes.add(vote);
-        post.setVotes(votes);
-
-        when(voteRepository.findByUserAndPost(author, post)).thenReturn(Optional.of(vote));
-        when(voteRepository.save(vote)).thenAnswer(invocation -> {
-            if(vote.getVoteValue() < 1) {
-                throw new ConstraintViolationException("Vote value cannot be below -1.", null);
-            }
-            return vote;
-        });
-        when(voteRepository.getRatingForPost(post)).thenReturn(-1);
+        when(voteRepository.insertVoteIfAbsent(author.getId(), post.getId(), -1)).thenReturn(0);
+        when(voteRepository.applyVoteDelta(author.getId(), post.getId(), -1)).thenReturn(0);
 
         assertThrows(IllegalVoteException.class, () -> voteService.voteDown(post, author));
+        verify(ratingDeltaBuffer, never()).apply(anyLong(), anyInt());
     }
 }